@@ -0,0 +1,33 @@
+package benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Запуск: java -jar benchmarks/target/benchmarks.jar [результат.json] [регулярное выражение]
+ * Результаты пишутся в JSON вместе с метриками GC-профайлера (gc.alloc.rate.norm),
+ * чтобы их можно было сравнивать между коммитами.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String resultFile = args.length > 0 ? args[0] : "jmh-result.json";
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile);
+
+        if (args.length > 1) {
+            options.include(args[1]);
+        } else {
+            options.include("benchmarks\\..*Benchmark");
+        }
+
+        new Runner(options.build()).run();
+    }
+}
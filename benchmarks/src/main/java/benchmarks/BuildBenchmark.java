@@ -0,0 +1,37 @@
+package benchmarks;
+
+import data_structures.GraphDescriptor;
+import operations.GraphOperations;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BuildBenchmark {
+
+    @Param({"100", "1000", "4000"})
+    public int size;
+
+    @Param({"0.01", "0.1"})
+    public double density;
+
+    @Param({"RANDOM", "POWER_LAW", "DENSE"})
+    public GraphGenerators.Shape shape;
+
+    private int[][] matrix;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        matrix = GraphGenerators.generate(shape, size, density, 42);
+    }
+
+    @Benchmark
+    public GraphDescriptor buildGraphFromMatrix() {
+        return GraphOperations.buildGraphFromMatrix(matrix);
+    }
+}
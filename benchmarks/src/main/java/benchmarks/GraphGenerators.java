@@ -0,0 +1,98 @@
+package benchmarks;
+
+import data_structures.BitMatrix;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Синтетические матрицы смежности для бенчмарков.
+ * Генерация детерминирована: одинаковые параметры и seed дают одинаковый граф.
+ */
+public class GraphGenerators {
+
+    public enum Shape {
+        RANDOM,
+        POWER_LAW,
+        DENSE
+    }
+
+    public static int[][] generate(Shape shape, int n, double density, long seed) {
+        BitMatrix bits = generateBits(shape, n, density, seed);
+        int[][] matrix = new int[n][n];
+        for (int i = 0; i < n; i++) {
+            int[] row = matrix[i];
+            bits.forEachInRow(i, j -> row[j] = 1);
+        }
+        return matrix;
+    }
+
+    // Тот же граф в битовой матрице: n^2 бит вместо n^2 int, поэтому подходит
+    // для больших n, когда бенчмарку нужен только построенный граф
+    public static BitMatrix generateBits(Shape shape, int n, double density, long seed) {
+        switch (shape) {
+            case RANDOM:
+                return random(n, density, seed);
+            case POWER_LAW:
+                return powerLaw(n, density, seed);
+            case DENSE:
+                return random(n, Math.max(density, 0.9), seed);
+            default:
+                throw new IllegalArgumentException("Неизвестный тип графа: " + shape);
+        }
+    }
+
+    // Граф Эрдёша–Реньи: каждое ребро присутствует с вероятностью density
+    public static BitMatrix random(int n, double density, long seed) {
+        Random random = new Random(seed);
+        BitMatrix matrix = new BitMatrix(n);
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (random.nextDouble() < density) {
+                    matrix.set(i, j);
+                }
+            }
+        }
+        return matrix;
+    }
+
+    // Степени по закону Парето, концы рёбер смещены к вершинам с малыми номерами (хабам);
+    // средняя степень примерно равна density * n
+    public static BitMatrix powerLaw(int n, double density, long seed) {
+        Random random = new Random(seed);
+        BitMatrix matrix = new BitMatrix(n);
+        double averageDegree = Math.max(1.0, density * n);
+        double alpha = 2.0;
+        double minimumDegree = averageDegree * (alpha - 1) / alpha;
+
+        for (int i = 0; i < n; i++) {
+            double u = 1.0 - random.nextDouble();
+            int degree = (int) Math.min(n, minimumDegree / Math.pow(u, 1.0 / alpha));
+            for (int k = 0; k < degree; k++) {
+                int target = (int) (n * Math.pow(random.nextDouble(), 3));
+                matrix.set(i, target);
+            }
+        }
+        return matrix;
+    }
+
+    public static void writeMatrix(int[][] matrix, Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write(Integer.toString(matrix.length));
+            writer.newLine();
+            for (int[] row : matrix) {
+                for (int j = 0; j < row.length; j++) {
+                    if (j > 0) {
+                        writer.write(' ');
+                    }
+                    writer.write(row[j] == 1 ? '1' : '0');
+                }
+                writer.newLine();
+            }
+        }
+    }
+}
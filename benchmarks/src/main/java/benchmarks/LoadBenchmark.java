@@ -0,0 +1,51 @@
+package benchmarks;
+
+import data_structures.GraphDescriptor;
+import io.FileManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoadBenchmark {
+
+    @Param({"1000", "4000"})
+    public int size;
+
+    @Param({"0.01"})
+    public double density;
+
+    @Param({"RANDOM", "DENSE"})
+    public GraphGenerators.Shape shape;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("graph-matrix", ".txt");
+        GraphGenerators.writeMatrix(GraphGenerators.generate(shape, size, density, 42), file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int[][] loadAdjacencyMatrix() throws IOException {
+        return FileManager.loadAdjacencyMatrix(file.toString());
+    }
+
+    @Benchmark
+    public GraphDescriptor loadGraph() throws IOException {
+        return FileManager.loadGraph(file.toString());
+    }
+}
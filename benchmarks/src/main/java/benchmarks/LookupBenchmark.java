@@ -0,0 +1,71 @@
+package benchmarks;
+
+import data_structures.GraphDescriptor;
+import data_structures.GraphNode;
+import operations.GraphOperations;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark {
+
+    private static final int QUERY_COUNT = 1 << 12;
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    @Param({"0.001", "0.01"})
+    public double density;
+
+    @Param({"RANDOM", "POWER_LAW"})
+    public GraphGenerators.Shape shape;
+
+    private GraphDescriptor graph;
+    private int[] sources;
+    private int[] targets;
+    private String[] labels;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = GraphOperations.buildGraphFromMatrix(GraphGenerators.generateBits(shape, size, density, 42));
+        for (int v = 0; v < size; v++) {
+            GraphOperations.relabelVertex(graph, v, "Вершина-" + v);
+        }
+
+        Random random = new Random(7);
+        sources = new int[QUERY_COUNT];
+        targets = new int[QUERY_COUNT];
+        labels = new String[QUERY_COUNT];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            sources[i] = random.nextInt(size);
+            targets[i] = random.nextInt(size);
+            labels[i] = "Вершина-" + random.nextInt(size);
+        }
+    }
+
+    @Benchmark
+    public GraphNode findVertexById() {
+        int i = cursor++ & (QUERY_COUNT - 1);
+        return GraphOperations.findVertexById(graph, sources[i]);
+    }
+
+    @Benchmark
+    public int findVertexByLabel() {
+        int i = cursor++ & (QUERY_COUNT - 1);
+        return GraphOperations.findVertexByLabel(graph, labels[i]);
+    }
+
+    @Benchmark
+    public boolean findEdge() {
+        int i = cursor++ & (QUERY_COUNT - 1);
+        return GraphOperations.findEdge(graph, sources[i], targets[i]);
+    }
+}
@@ -0,0 +1,58 @@
+package benchmarks;
+
+import data_structures.GraphDescriptor;
+import operations.GraphOperations;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MutationBenchmark {
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    @Param({"0.001", "0.01"})
+    public double density;
+
+    @Param({"RANDOM", "POWER_LAW"})
+    public GraphGenerators.Shape shape;
+
+    @Param({"false", "true"})
+    public boolean reverseIndex;
+
+    private GraphDescriptor graph;
+    private int[] connected;
+    private int vertexId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = GraphOperations.buildGraphFromMatrix(GraphGenerators.generateBits(shape, size, density, 42));
+        if (reverseIndex) {
+            GraphOperations.enableReverseIndex(graph);
+        }
+
+        Random random = new Random(7);
+        connected = new int[Math.max(1, (int) (density * size))];
+        for (int i = 0; i < connected.length; i++) {
+            connected[i] = random.nextInt(size);
+        }
+        vertexId = size;
+    }
+
+    // Вершина добавляется со связями, на неё ставится входящее ребро, затем она удаляется:
+    // размер графа остаётся постоянным между итерациями
+    @Benchmark
+    public int addEdgeAndDeleteVertex() {
+        GraphOperations.addVertex(graph, vertexId, connected);
+        GraphOperations.addEdge(graph, connected[0], vertexId);
+        GraphOperations.deleteVertex(graph, vertexId);
+        return graph.getVertexCount();
+    }
+}
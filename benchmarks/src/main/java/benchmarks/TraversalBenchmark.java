@@ -0,0 +1,42 @@
+package benchmarks;
+
+import data_structures.GraphDescriptor;
+import operations.GraphOperations;
+import operations.VertexOrder;
+import org.openjdk.jmh.annotations.*;
+import traversal.GraphTraversal;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TraversalBenchmark {
+
+    @Param({"4000"})
+    public int size;
+
+    @Param({"0.001", "0.01"})
+    public double density;
+
+    @Param({"RANDOM", "POWER_LAW"})
+    public GraphGenerators.Shape shape;
+
+    @Param({"NATURAL", "DEGREE", "BFS", "REVERSE_CUTHILL_MCKEE"})
+    public VertexOrder order;
+
+    private GraphDescriptor graph;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = GraphOperations.buildGraphFromMatrix(GraphGenerators.generate(shape, size, density, 42), order);
+    }
+
+    @Benchmark
+    public int[] bfs() {
+        return GraphTraversal.bfs(graph, graph.getFirstNode().getId());
+    }
+}
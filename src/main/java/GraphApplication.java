@@ -1,37 +1,118 @@
 import data_structures.GraphDescriptor;
 import io.FileManager;
+import io.GraphStore;
+import metrics.GraphMetrics;
+import operations.ConcurrentGraph;
 import operations.GraphOperations;
+import server.GraphServer;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
-import java.io.FileNotFoundException;
+import java.io.IOException;
 
 public class GraphApplication {
 
     private static final String DEFAULT_FILE = "/Users/vyacheslavborisov/IdeaProjects/LB3/data/graph_matrix.txt";
+    private static final int DEFAULT_PORT = 7070;
+    private static String matrixFile = DEFAULT_FILE;
     private static GraphDescriptor graph;
+    private static GraphStore store;
     private static Scanner scanner;
 
+    // Аргументы: [--file=путь] [--server[=порт]] [каталог хранилища]
+    // --file — файл матрицы смежности вместо файла по умолчанию;
+    // --server — вместо меню граф обслуживается GraphServer на 127.0.0.1;
+    // каталог хранилища — изменения графа записываются в журнал
+    // и восстанавливаются при следующем запуске
     public static void main(String[] args) {
         scanner = new Scanner(System.in);
 
         try {
-            loadGraphFromFile();
+            String directory = null;
+            int serverPort = -1;
+            for (String arg : args) {
+                if (arg.startsWith("--file=")) {
+                    matrixFile = arg.substring("--file=".length());
+                } else if (arg.equals("--server")) {
+                    serverPort = DEFAULT_PORT;
+                } else if (arg.startsWith("--server=")) {
+                    serverPort = Integer.parseInt(arg.substring("--server=".length()));
+                } else if (arg.startsWith("--")) {
+                    throw new IllegalArgumentException("Неизвестный параметр: " + arg);
+                } else {
+                    directory = arg;
+                }
+            }
+
+            if (GraphMetrics.ENABLED) {
+                GraphMetrics.registerMBean();
+            }
+            if (serverPort >= 0) {
+                if (directory != null) {
+                    throw new IllegalArgumentException("Режим сервера не работает с каталогом хранилища");
+                }
+                runServer(serverPort);
+                return;
+            }
+            if (directory != null) {
+                openStore(directory);
+            } else {
+                loadGraphFromFile();
+            }
             mainMenu();
         } catch (Exception e) {
             System.out.println("Ошибка: " + e.getMessage());
         } finally {
+            closeStore();
             scanner.close();
         }
     }
 
-    private static void loadGraphFromFile() throws FileNotFoundException {
-        int[][] matrix = FileManager.loadAdjacencyMatrix(DEFAULT_FILE);
-        graph = GraphOperations.buildGraphFromMatrix(matrix);
+    private static void loadGraphFromFile() throws IOException {
+        graph = FileManager.loadGraph(matrixFile);
+        GraphOperations.printGraph(graph);
+    }
+
+    // Сервер работает до завершения процесса (Ctrl+C)
+    private static void runServer(int port) throws IOException, InterruptedException {
+        graph = FileManager.loadGraph(matrixFile);
+        GraphServer server = GraphServer.start(new ConcurrentGraph(graph), port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+            } catch (IOException e) {
+                System.out.println("Ошибка: " + e.getMessage());
+            }
+        }));
+
+        System.out.println("Граф загружен: вершин " + graph.getVertexCount() + ", рёбер " + graph.getEdgeCount());
+        System.out.println("Сервер слушает 127.0.0.1:" + server.getPort()
+                + (GraphServer.usesVirtualThreads() ? " (виртуальные потоки)" : ""));
+        server.join();
+    }
+
+    private static void openStore(String directory) throws IOException {
+        if (GraphStore.exists(directory)) {
+            store = GraphStore.open(directory, null);
+        } else {
+            store = GraphStore.open(directory, FileManager.loadGraph(matrixFile));
+        }
+        graph = store.getGraph();
         GraphOperations.printGraph(graph);
     }
 
+    private static void closeStore() {
+        if (store == null) {
+            return;
+        }
+        try {
+            store.close();
+        } catch (IOException e) {
+            System.out.println("Ошибка: " + e.getMessage());
+        }
+    }
+
     private static void mainMenu() {
         boolean running = true;
 
@@ -39,10 +120,12 @@ public class GraphApplication {
             System.out.println("\n1. Добавить вершину");
             System.out.println("2. Удалить вершину");
             System.out.println("3. Добавить ребро");
-            System.out.println("4. Найти ребро");
-            System.out.println("5. Вывести граф");
-            System.out.println("6. Подробная информация о графе");
-            System.out.println("7. Выход");
+            System.out.println("4. Удалить ребро");
+            System.out.println("5. Найти ребро");
+            System.out.println("6. Переименовать вершину");
+            System.out.println("7. Вывести граф");
+            System.out.println("8. Подробная информация о графе");
+            System.out.println("9. Выход");
             System.out.print("Выбор: ");
 
             String choice = scanner.nextLine().trim();
@@ -58,15 +141,21 @@ public class GraphApplication {
                     addEdge();
                     break;
                 case "4":
-                    findEdge();
+                    removeEdge();
                     break;
                 case "5":
-                    GraphOperations.printGraph(graph);
+                    findEdge();
                     break;
                 case "6":
-                    GraphOperations.printGraphDetails(graph);
+                    relabelVertex();
                     break;
                 case "7":
+                    GraphOperations.printGraph(graph);
+                    break;
+                case "8":
+                    GraphOperations.printGraphDetails(graph);
+                    break;
+                case "9":
                     running = false;
                     break;
                 default:
@@ -75,17 +164,39 @@ public class GraphApplication {
         }
     }
 
-    private static void addVertex() {
-        System.out.print("Введите букву вершины: ");
+    private static String readLabel(String prompt) {
+        System.out.print(prompt);
         String input = scanner.nextLine().trim().toUpperCase();
 
-        if (input.length() != 1 || !Character.isLetter(input.charAt(0))) {
+        if (input.isEmpty() || input.chars().anyMatch(Character::isWhitespace)) {
+            return null;
+        }
+        return input;
+    }
+
+    private static int readExistingVertex(String prompt) {
+        String label = readLabel(prompt);
+        if (label == null) {
+            System.out.println("Ошибка: введите метку вершины\n");
+            return -1;
+        }
+
+        int id = GraphOperations.findVertexByLabel(graph, label);
+        if (id < 0) {
+            System.out.println("Ошибка: вершина " + label + " не найдена\n");
+        }
+        return id;
+    }
+
+    private static void addVertex() {
+        String label = readLabel("Введите метку вершины: ");
+
+        if (label == null) {
             System.out.println("Ошибка\n");
             return;
         }
 
-        char label = input.charAt(0);
-        List<Character> connected = new ArrayList<>();
+        List<Integer> connected = new ArrayList<>();
 
         System.out.println("Введите связи (Enter для выхода):");
         while (true) {
@@ -96,89 +207,140 @@ public class GraphApplication {
                 break;
             }
 
-            if (target.length() == 1 && Character.isLetter(target.charAt(0))) {
-                connected.add(target.charAt(0));
+            int targetId = GraphOperations.findVertexByLabel(graph, target);
+            if (targetId >= 0) {
+                connected.add(targetId);
             }
         }
 
-        char[] array = new char[connected.size()];
+        int[] array = new int[connected.size()];
         for (int i = 0; i < connected.size(); i++) {
             array[i] = connected.get(i);
         }
 
         try {
-            GraphOperations.addVertex(graph, label, array);
+            if (store != null) {
+                store.addVertex(label, array);
+            } else {
+                GraphOperations.addVertex(graph, label, array);
+            }
             System.out.println("Вершина добавлена\n");
             GraphOperations.printGraph(graph);
-        } catch (IllegalArgumentException e) {
+        } catch (IllegalArgumentException | IOException e) {
             System.out.println("Ошибка: " + e.getMessage() + "\n");
         }
     }
 
     private static void deleteVertex() {
-        System.out.print("Введите букву вершины: ");
-        String input = scanner.nextLine().trim().toUpperCase();
+        int vertexId = readExistingVertex("Введите метку вершины: ");
 
-        if (input.length() != 1 || !Character.isLetter(input.charAt(0))) {
-            System.out.println("Ошибка\n");
+        if (vertexId < 0) {
             return;
         }
 
-        char label = input.charAt(0);
-
         System.out.print("Удалить? (yes/no): ");
         String conf = scanner.nextLine().trim().toLowerCase();
 
         if (conf.equals("yes") || conf.equals("y")) {
             try {
-                GraphOperations.deleteVertex(graph, label);
+                if (store != null) {
+                    store.deleteVertex(vertexId);
+                } else {
+                    GraphOperations.deleteVertex(graph, vertexId);
+                }
                 System.out.println("Вершина удалена\n");
                 GraphOperations.printGraph(graph);
-            } catch (IllegalArgumentException e) {
+            } catch (IllegalArgumentException | IOException e) {
                 System.out.println("Ошибка: " + e.getMessage() + "\n");
             }
         }
     }
 
     private static void addEdge() {
-        System.out.print("Исходная вершина (откуда): ");
-        String source = scanner.nextLine().trim().toUpperCase();
+        int sourceId = readExistingVertex("Исходная вершина (откуда): ");
+        if (sourceId < 0) {
+            return;
+        }
 
-        if (source.length() != 1 || !Character.isLetter(source.charAt(0))) {
-            System.out.println("Ошибка: введите одну букву\n");
+        int targetId = readExistingVertex("Целевая вершина (куда): ");
+        if (targetId < 0) {
             return;
         }
 
-        System.out.print("Целевая вершина (куда): ");
-        String target = scanner.nextLine().trim().toUpperCase();
+        try {
+            if (store != null) {
+                store.addEdge(sourceId, targetId);
+            } else {
+                GraphOperations.addEdge(graph, sourceId, targetId);
+            }
+            System.out.println("Ребро " + graph.labelOf(sourceId) + " -> " + graph.labelOf(targetId) + " добавлено\n");
+            GraphOperations.printGraph(graph);
+        } catch (IllegalArgumentException | IOException e) {
+            System.out.println("Ошибка: " + e.getMessage() + "\n");
+        }
+    }
 
-        if (target.length() != 1 || !Character.isLetter(target.charAt(0))) {
-            System.out.println("Ошибка: введите одну букву\n");
+    private static void removeEdge() {
+        int sourceId = readExistingVertex("Исходная вершина (откуда): ");
+        if (sourceId < 0) {
+            return;
+        }
+
+        int targetId = readExistingVertex("Целевая вершина (куда): ");
+        if (targetId < 0) {
             return;
         }
 
         try {
-            GraphOperations.addEdge(graph, source.charAt(0), target.charAt(0));
-            System.out.println("Ребро " + source + " -> " + target + " добавлено\n");
+            if (store != null) {
+                store.removeEdge(sourceId, targetId);
+            } else {
+                GraphOperations.removeEdge(graph, sourceId, targetId);
+            }
+            System.out.println("Ребро " + graph.labelOf(sourceId) + " -> " + graph.labelOf(targetId) + " удалено\n");
             GraphOperations.printGraph(graph);
-        } catch (IllegalArgumentException e) {
+        } catch (IllegalArgumentException | IOException e) {
             System.out.println("Ошибка: " + e.getMessage() + "\n");
         }
     }
 
-    private static void findEdge() {
-        System.out.print("Начальная вершина: ");
-        String source = scanner.nextLine().trim().toUpperCase();
+    private static void relabelVertex() {
+        int vertexId = readExistingVertex("Введите метку вершины: ");
+        if (vertexId < 0) {
+            return;
+        }
+
+        String label = readLabel("Новая метка: ");
+        if (label == null) {
+            System.out.println("Ошибка: введите метку вершины\n");
+            return;
+        }
 
-        System.out.print("Конечная вершина: ");
-        String target = scanner.nextLine().trim().toUpperCase();
+        try {
+            if (store != null) {
+                store.relabelVertex(vertexId, label);
+            } else {
+                GraphOperations.relabelVertex(graph, vertexId, label);
+            }
+            System.out.println("Вершина переименована\n");
+            GraphOperations.printGraph(graph);
+        } catch (IllegalArgumentException | IOException e) {
+            System.out.println("Ошибка: " + e.getMessage() + "\n");
+        }
+    }
+
+    private static void findEdge() {
+        String source = readLabel("Начальная вершина: ");
+        String target = readLabel("Конечная вершина: ");
 
-        if (source.length() != 1 || target.length() != 1) {
+        if (source == null || target == null) {
             System.out.println("Ошибка\n");
             return;
         }
 
-        boolean exists = GraphOperations.findEdge(graph, source.charAt(0), target.charAt(0));
+        boolean exists = GraphOperations.findEdge(graph,
+                GraphOperations.findVertexByLabel(graph, source),
+                GraphOperations.findVertexByLabel(graph, target));
 
         if (exists) {
             System.out.println("Ребро найдено\n");
@@ -0,0 +1,105 @@
+package analytics;
+
+import data_structures.GraphDescriptor;
+import data_structures.GraphNode;
+
+/**
+ * Степенная центральность: степень вершины, делённая на (n - 1).
+ * Степени берутся из счётчиков вершин, поэтому расчёт идёт за O(V).
+ */
+public class Centrality {
+
+    public static double[] outDegree(GraphDescriptor graph) {
+        return degree(graph, true);
+    }
+
+    public static double[] inDegree(GraphDescriptor graph) {
+        return degree(graph, false);
+    }
+
+    private static double[] degree(GraphDescriptor graph, boolean outgoing) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
+        }
+
+        double[] result = new double[graph.getIdBound()];
+        double scale = graph.getVertexCount() > 1 ? 1.0 / (graph.getVertexCount() - 1) : 0.0;
+        for (GraphNode node = graph.getFirstNode(); node != null; node = node.getNextDataNode()) {
+            int degree = outgoing ? node.getOutDegree() : node.getInDegree();
+            result[node.getId()] = degree * scale;
+        }
+        return result;
+    }
+
+    // Индексы count наибольших значений по убыванию; при равенстве раньше идёт меньший индекс.
+    // Кандидаты хранятся в куче из count элементов, поэтому время O(n log count)
+    public static int[] top(double[] scores, int count) {
+        if (scores == null) {
+            throw new IllegalArgumentException("Массив оценок не может быть null");
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("Неверное количество: " + count);
+        }
+
+        int size = Math.min(count, scores.length);
+        int[] heap = new int[size];
+        int filled = 0;
+        for (int i = 0; i < scores.length; i++) {
+            if (filled < size) {
+                heap[filled++] = i;
+                siftUp(heap, filled - 1, scores);
+            } else if (size > 0 && before(i, heap[0], scores)) {
+                heap[0] = i;
+                siftDown(heap, size, scores);
+            }
+        }
+
+        // Извлечение худшего кандидата с конца даёт порядок по убыванию
+        int[] result = new int[size];
+        for (int end = size - 1; end >= 0; end--) {
+            result[end] = heap[0];
+            heap[0] = heap[end];
+            siftDown(heap, end, scores);
+        }
+        return result;
+    }
+
+    // Индекс a должен стоять в рейтинге выше индекса b
+    private static boolean before(int a, int b, double[] scores) {
+        return scores[a] > scores[b] || (scores[a] == scores[b] && a < b);
+    }
+
+    // В корне кучи — худший из кандидатов
+    private static void siftUp(int[] heap, int index, double[] scores) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!before(heap[parent], heap[index], scores)) {
+                break;
+            }
+            int swap = heap[parent];
+            heap[parent] = heap[index];
+            heap[index] = swap;
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, double[] scores) {
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && before(heap[child], heap[child + 1], scores)) {
+                child++;
+            }
+            if (!before(heap[index], heap[child], scores)) {
+                break;
+            }
+            int swap = heap[child];
+            heap[child] = heap[index];
+            heap[index] = swap;
+            index = child;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package analytics;
+
+import data_structures.CsrGraph;
+import data_structures.GraphDescriptor;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Параллельный PageRank степенным методом на ForkJoinPool.
+ * Каждая вершина сама собирает вклады предшественников (pull), поэтому потоки
+ * пишут только в свои элементы массива и не требуют синхронизации.
+ * Входящие рёбра берутся из транспонированного снимка CSR графа; ранги
+ * и вклады хранятся в двух парах массивов double[], которые меняются местами
+ * после каждой итерации. Итерация выполняется за O(V + E).
+ * Ранг висячих вершин (без исходящих рёбер) распределяется по вектору телепортации.
+ */
+public class PageRank {
+
+    public static final double DEFAULT_DAMPING = 0.85;
+    public static final double DEFAULT_TOLERANCE = 1e-9;
+    public static final int DEFAULT_MAX_ITERATIONS = 100;
+
+    // Минимальный объём работы (вершины + входящие рёбра) одной задачи
+    private static final int GRAIN = 1 << 14;
+
+    private final double damping;
+    private final double tolerance;
+    private final int maxIterations;
+    private final ForkJoinPool pool;
+
+    public PageRank() {
+        this(DEFAULT_DAMPING, DEFAULT_TOLERANCE, DEFAULT_MAX_ITERATIONS, ForkJoinPool.commonPool());
+    }
+
+    // Итерации прекращаются, когда L1-норма изменения рангов меньше tolerance
+    public PageRank(double damping, double tolerance, int maxIterations, ForkJoinPool pool) {
+        if (!(damping >= 0 && damping < 1)) {
+            throw new IllegalArgumentException("Коэффициент затухания должен быть в [0, 1): " + damping);
+        }
+        if (!(tolerance > 0)) {
+            throw new IllegalArgumentException("Точность должна быть положительной: " + tolerance);
+        }
+        if (maxIterations <= 0) {
+            throw new IllegalArgumentException("Неверное число итераций: " + maxIterations);
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("Пул потоков не может быть null");
+        }
+        this.damping = damping;
+        this.tolerance = tolerance;
+        this.maxIterations = maxIterations;
+        this.pool = pool;
+    }
+
+    public PageRankResult rank(GraphDescriptor graph) {
+        return rank(graph, null);
+    }
+
+    // Персонализированный PageRank: телепортация идёт в вершины seedIds поровну
+    public PageRankResult rankFrom(GraphDescriptor graph, int... seedIds) {
+        validateGraph(graph);
+        if (seedIds == null || seedIds.length == 0) {
+            throw new IllegalArgumentException("Не заданы начальные вершины");
+        }
+
+        double[] personalization = new double[graph.getIdBound()];
+        for (int id : seedIds) {
+            if (!graph.containsVertex(id)) {
+                throw new IllegalArgumentException("Вершина " + graph.labelOf(id) + " не найдена");
+            }
+            personalization[id] = 1.0;
+        }
+        return rank(graph, personalization);
+    }
+
+    // personalization[id] — неотрицательный вес телепортации в вершину (нормируется);
+    // null — равномерная телепортация по всем вершинам
+    public PageRankResult rank(GraphDescriptor graph, double[] personalization) {
+        validateGraph(graph);
+
+        int idBound = graph.getIdBound();
+        CsrGraph forward = CsrGraph.fromDescriptor(graph);
+        CsrGraph incoming = forward.transpose();
+        double[] teleport = teleportVector(forward, personalization);
+
+        Iteration iteration = new Iteration(forward, incoming, teleport, damping);
+        for (int v = 0; v < idBound; v++) {
+            if (forward.containsVertex(v)) {
+                iteration.setInitialRank(v, 1.0 / graph.getVertexCount());
+            }
+        }
+
+        double residual = Double.POSITIVE_INFINITY;
+        int iterations = 0;
+        while (iterations < maxIterations && residual >= tolerance) {
+            UpdateTask task = new UpdateTask(iteration, 0, idBound);
+            pool.invoke(task);
+            residual = task.residual;
+            iteration.finish(task.danglingRank);
+            iterations++;
+        }
+
+        return new PageRankResult(iteration.rank, iterations, residual, residual < tolerance);
+    }
+
+    private static void validateGraph(GraphDescriptor graph) {
+        if (graph == null || graph.isEmpty()) {
+            throw new IllegalArgumentException("Граф пуст");
+        }
+    }
+
+    private static double[] teleportVector(CsrGraph graph, double[] personalization) {
+        int idBound = graph.getIdBound();
+        double[] teleport = new double[idBound];
+
+        if (personalization == null) {
+            for (int v = 0; v < idBound; v++) {
+                if (graph.containsVertex(v)) {
+                    teleport[v] = 1.0 / graph.getVertexCount();
+                }
+            }
+            return teleport;
+        }
+
+        if (personalization.length != idBound) {
+            throw new IllegalArgumentException("Длина вектора персонализации должна быть " + idBound);
+        }
+        double total = 0;
+        for (int v = 0; v < idBound; v++) {
+            double weight = personalization[v];
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Неверный вес персонализации: " + weight);
+            }
+            if (graph.containsVertex(v)) {
+                total += weight;
+            }
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Вектор персонализации не содержит вершин графа");
+        }
+        for (int v = 0; v < idBound; v++) {
+            if (graph.containsVertex(v)) {
+                teleport[v] = personalization[v] / total;
+            }
+        }
+        return teleport;
+    }
+
+    /**
+     * Состояние итераций: текущие ранги и вклады rank[u] / outDegree(u),
+     * а также буферы для следующей итерации.
+     */
+    private static final class Iteration {
+        final CsrGraph forward;
+        final CsrGraph incoming;
+        final double[] teleport;
+        final double damping;
+        double[] rank;
+        double[] contribution;
+        double[] nextRank;
+        double[] nextContribution;
+        double danglingRank;
+
+        Iteration(CsrGraph forward, CsrGraph incoming, double[] teleport, double damping) {
+            int idBound = forward.getIdBound();
+            this.forward = forward;
+            this.incoming = incoming;
+            this.teleport = teleport;
+            this.damping = damping;
+            this.rank = new double[idBound];
+            this.contribution = new double[idBound];
+            this.nextRank = new double[idBound];
+            this.nextContribution = new double[idBound];
+            this.danglingRank = 0;
+        }
+
+        void setInitialRank(int vertexId, double value) {
+            rank[vertexId] = value;
+            int degree = forward.degree(vertexId);
+            if (degree == 0) {
+                danglingRank += value;
+            } else {
+                contribution[vertexId] = value / degree;
+            }
+        }
+
+        void finish(double nextDanglingRank) {
+            double[] previous = rank;
+            rank = nextRank;
+            nextRank = previous;
+
+            previous = contribution;
+            contribution = nextContribution;
+            nextContribution = previous;
+
+            danglingRank = nextDanglingRank;
+        }
+    }
+
+    // Считает новые ранги вершин [from, to) и заодно их вклады для следующей итерации;
+    // диапазон делится, пока в нём больше GRAIN вершин и входящих рёбер
+    @SuppressWarnings("serial")
+    private static final class UpdateTask extends RecursiveAction {
+        private final Iteration iteration;
+        private final int from;
+        private final int to;
+        double residual;
+        double danglingRank;
+
+        UpdateTask(Iteration iteration, int from, int to) {
+            this.iteration = iteration;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            CsrGraph incoming = iteration.incoming;
+            long work = (long) (to - from) + incoming.neighbourStart(to) - incoming.neighbourStart(from);
+            if (work > GRAIN && to - from > 1) {
+                int middle = (from + to) >>> 1;
+                UpdateTask left = new UpdateTask(iteration, from, middle);
+                UpdateTask right = new UpdateTask(iteration, middle, to);
+                invokeAll(left, right);
+                residual = left.residual + right.residual;
+                danglingRank = left.danglingRank + right.danglingRank;
+                return;
+            }
+
+            CsrGraph forward = iteration.forward;
+            double[] contribution = iteration.contribution;
+            double damping = iteration.damping;
+            double danglingShare = damping * iteration.danglingRank;
+            double localResidual = 0;
+            double localDangling = 0;
+
+            for (int v = from; v < to; v++) {
+                if (!forward.containsVertex(v)) {
+                    continue;
+                }
+
+                double sum = 0;
+                for (int i = incoming.neighbourStart(v); i < incoming.neighbourEnd(v); i++) {
+                    sum += contribution[incoming.targetAt(i)];
+                }
+                double value = (1 - damping + danglingShare) * iteration.teleport[v] + damping * sum;
+
+                iteration.nextRank[v] = value;
+                int degree = forward.degree(v);
+                if (degree == 0) {
+                    iteration.nextContribution[v] = 0;
+                    localDangling += value;
+                } else {
+                    iteration.nextContribution[v] = value / degree;
+                }
+                localResidual += Math.abs(value - iteration.rank[v]);
+            }
+
+            residual = localResidual;
+            danglingRank = localDangling;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package analytics;
+
+import lombok.Getter;
+
+/**
+ * Результат PageRank: ranks[id] — ранг вершины (0 для отсутствующих id),
+ * сумма рангов равна 1. residual — L1-норма изменения рангов на последней итерации.
+ */
+@Getter
+public class PageRankResult {
+    private final double[] ranks;
+    private final int iterations;
+    private final double residual;
+    private final boolean converged;
+
+    public PageRankResult(double[] ranks, int iterations, double residual, boolean converged) {
+        this.ranks = ranks;
+        this.iterations = iterations;
+        this.residual = residual;
+        this.converged = converged;
+    }
+
+    public double rankOf(int vertexId) {
+        return vertexId >= 0 && vertexId < ranks.length ? ranks[vertexId] : 0.0;
+    }
+
+    // id вершин с наибольшими рангами по убыванию
+    public int[] top(int count) {
+        return Centrality.top(ranks, count);
+    }
+}
@@ -0,0 +1,182 @@
+package data_structures;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Квадратная матрица смежности, упакованная по 64 клетки в long.
+ * Строки лежат подряд в одном массиве, поэтому операции над строками
+ * (пересечение, объединение, подсчёт) выполняются пословно.
+ */
+public class BitMatrix {
+    private int size;
+    private int wordsPerRow;
+    private long[] words;
+
+    public BitMatrix(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Неверный размер матрицы: " + size);
+        }
+        this.size = size;
+        this.wordsPerRow = (size + 63) >>> 6;
+        this.words = new long[size * wordsPerRow];
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean get(int row, int column) {
+        return (words[row * wordsPerRow + (column >>> 6)] & (1L << column)) != 0;
+    }
+
+    // Возвращает true, если клетка изменилась
+    public boolean set(int row, int column) {
+        int index = row * wordsPerRow + (column >>> 6);
+        long bit = 1L << column;
+        if ((words[index] & bit) != 0) {
+            return false;
+        }
+        words[index] |= bit;
+        return true;
+    }
+
+    public boolean clear(int row, int column) {
+        int index = row * wordsPerRow + (column >>> 6);
+        long bit = 1L << column;
+        if ((words[index] & bit) == 0) {
+            return false;
+        }
+        words[index] &= ~bit;
+        return true;
+    }
+
+    public void clearRow(int row) {
+        Arrays.fill(words, row * wordsPerRow, (row + 1) * wordsPerRow, 0L);
+    }
+
+    public int rowCardinality(int row) {
+        int count = 0;
+        for (int i = row * wordsPerRow, end = i + wordsPerRow; i < end; i++) {
+            count += Long.bitCount(words[i]);
+        }
+        return count;
+    }
+
+    public long cardinality() {
+        long count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    public int intersectionCount(int rowA, int rowB) {
+        return intersectionCount(rowA, this, rowB);
+    }
+
+    // Число общих единиц строки rowA этой матрицы и строки rowB матрицы other того же размера
+    public int intersectionCount(int rowA, BitMatrix other, int rowB) {
+        int a = rowA * wordsPerRow;
+        int b = rowB * other.wordsPerRow;
+        int count = 0;
+        for (int i = 0; i < wordsPerRow; i++) {
+            count += Long.bitCount(words[a + i] & other.words[b + i]);
+        }
+        return count;
+    }
+
+    public int[] intersection(int rowA, int rowB) {
+        int[] result = new int[intersectionCount(rowA, rowB)];
+        int a = rowA * wordsPerRow;
+        int b = rowB * wordsPerRow;
+        int count = 0;
+        for (int i = 0; i < wordsPerRow; i++) {
+            long bits = words[a + i] & words[b + i];
+            while (bits != 0) {
+                result[count++] = (i << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        return result;
+    }
+
+    // Строка target |= строка source
+    public void orRow(int target, int source) {
+        orRow(target, this, source);
+    }
+
+    // Строка target |= строка source матрицы other того же размера
+    public void orRow(int target, BitMatrix other, int source) {
+        int t = target * wordsPerRow;
+        int s = source * other.wordsPerRow;
+        for (int i = 0; i < wordsPerRow; i++) {
+            words[t + i] |= other.words[s + i];
+        }
+    }
+
+    // Номера столбцов с единицами в строке, по возрастанию
+    public int[] rowIndices(int row) {
+        int[] result = new int[rowCardinality(row)];
+        int count = 0;
+        int base = row * wordsPerRow;
+        for (int i = 0; i < wordsPerRow; i++) {
+            long bits = words[base + i];
+            while (bits != 0) {
+                result[count++] = (i << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        return result;
+    }
+
+    public void forEachInRow(int row, IntConsumer action) {
+        int base = row * wordsPerRow;
+        for (int i = 0; i < wordsPerRow; i++) {
+            long bits = words[base + i];
+            while (bits != 0) {
+                action.accept((i << 6) + Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    public BitMatrix transpose() {
+        BitMatrix result = new BitMatrix(size);
+        for (int row = 0; row < size; row++) {
+            int base = row * wordsPerRow;
+            for (int i = 0; i < wordsPerRow; i++) {
+                long bits = words[base + i];
+                while (bits != 0) {
+                    result.set((i << 6) + Long.numberOfTrailingZeros(bits), row);
+                    bits &= bits - 1;
+                }
+            }
+        }
+        return result;
+    }
+
+    public BitMatrix copy() {
+        BitMatrix result = new BitMatrix(0);
+        result.size = size;
+        result.wordsPerRow = wordsPerRow;
+        result.words = words.clone();
+        return result;
+    }
+
+    // Новые строки и столбцы заполняются нулями
+    public void resize(int newSize) {
+        if (newSize < size) {
+            throw new IllegalArgumentException("Неверный размер матрицы: " + newSize);
+        }
+
+        int newWordsPerRow = (newSize + 63) >>> 6;
+        long[] newWords = new long[Math.multiplyExact(newSize, newWordsPerRow)];
+        for (int row = 0; row < size; row++) {
+            System.arraycopy(words, row * wordsPerRow, newWords, row * newWordsPerRow, wordsPerRow);
+        }
+        size = newSize;
+        wordsPerRow = newWordsPerRow;
+        words = newWords;
+    }
+}
@@ -0,0 +1,173 @@
+package data_structures;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Граф в виде битовой матрицы смежности BitMatrix: ребро u -> v — бит v
+ * в строке u, поэтому поиск ребра сводится к проверке одного бита.
+ * Подходит для небольших плотных графов: память n^2 / 8 байт.
+ */
+public class BitMatrixGraph implements Graph {
+    @Getter
+    private final BitMatrix matrix;
+    private boolean[] present;
+    private int[] outDegrees;
+    private int vertexCount;
+    private int idBound;
+    private long edgeCount;
+
+    public BitMatrixGraph(int expectedVertices) {
+        int capacity = Math.max(expectedVertices, 1);
+        this.matrix = new BitMatrix(capacity);
+        this.present = new boolean[capacity];
+        this.outDegrees = new int[capacity];
+        this.vertexCount = 0;
+        this.idBound = 0;
+        this.edgeCount = 0;
+    }
+
+    // Граф из готовой матрицы (без копирования): все вершины 0..size-1 присутствуют
+    public BitMatrixGraph(BitMatrix matrix) {
+        if (matrix == null || matrix.getSize() == 0) {
+            throw new IllegalArgumentException("Матрица не может быть пустой");
+        }
+
+        int n = matrix.getSize();
+        this.matrix = matrix;
+        this.present = new boolean[n];
+        this.outDegrees = new int[n];
+        this.vertexCount = n;
+        this.idBound = n;
+        this.edgeCount = 0;
+
+        Arrays.fill(present, true);
+        for (int i = 0; i < n; i++) {
+            outDegrees[i] = matrix.rowCardinality(i);
+            edgeCount += outDegrees[i];
+        }
+    }
+
+    @Override
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    @Override
+    public int getIdBound() {
+        return idBound;
+    }
+
+    @Override
+    public long getEdgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public boolean containsVertex(int vertexId) {
+        return vertexId >= 0 && vertexId < idBound && present[vertexId];
+    }
+
+    @Override
+    public void addVertex(int vertexId) {
+        if (vertexId < 0) {
+            throw new IllegalArgumentException("Неверный идентификатор вершины: " + vertexId);
+        }
+        if (containsVertex(vertexId)) {
+            throw new IllegalArgumentException("Вершина " + VertexLabels.defaultLabel(vertexId) + " уже существует");
+        }
+
+        if (vertexId >= matrix.getSize()) {
+            int capacity = Math.max(vertexId + 1, matrix.getSize() * 2);
+            matrix.resize(capacity);
+            present = Arrays.copyOf(present, capacity);
+            outDegrees = Arrays.copyOf(outDegrees, capacity);
+        }
+
+        present[vertexId] = true;
+        outDegrees[vertexId] = 0;
+        idBound = Math.max(idBound, vertexId + 1);
+        vertexCount++;
+    }
+
+    @Override
+    public void deleteVertex(int vertexId) {
+        validateVertex(vertexId);
+
+        edgeCount -= outDegrees[vertexId];
+        matrix.clearRow(vertexId);
+        present[vertexId] = false;
+        outDegrees[vertexId] = 0;
+        vertexCount--;
+
+        // Входящие рёбра — столбец vertexId во всех строках
+        for (int id = 0; id < idBound; id++) {
+            if (present[id] && matrix.clear(id, vertexId)) {
+                outDegrees[id]--;
+                edgeCount--;
+            }
+        }
+    }
+
+    @Override
+    public void addEdge(int sourceId, int targetId) {
+        validateVertex(sourceId);
+        validateVertex(targetId);
+        if (!matrix.set(sourceId, targetId)) {
+            throw new IllegalArgumentException("Ребро " + VertexLabels.defaultLabel(sourceId) + " -> "
+                    + VertexLabels.defaultLabel(targetId) + " уже существует");
+        }
+        outDegrees[sourceId]++;
+        edgeCount++;
+    }
+
+    @Override
+    public void removeEdge(int sourceId, int targetId) {
+        validateVertex(sourceId);
+        validateVertex(targetId);
+        if (!matrix.clear(sourceId, targetId)) {
+            throw new IllegalArgumentException("Ребро " + VertexLabels.defaultLabel(sourceId) + " -> "
+                    + VertexLabels.defaultLabel(targetId) + " не найдено");
+        }
+        outDegrees[sourceId]--;
+        edgeCount--;
+    }
+
+    // Повторные рёбра в матрице не хранятся, поэтому просто пропускаются
+    @Override
+    public void appendEdges(int sourceId, int[] targetIds, int offset, int count) {
+        validateVertex(sourceId);
+        for (int i = offset; i < offset + count; i++) {
+            validateVertex(targetIds[i]);
+            if (matrix.set(sourceId, targetIds[i])) {
+                outDegrees[sourceId]++;
+                edgeCount++;
+            }
+        }
+    }
+
+    @Override
+    public boolean findEdge(int sourceId, int targetId) {
+        return containsVertex(sourceId) && containsVertex(targetId) && matrix.get(sourceId, targetId);
+    }
+
+    @Override
+    public int outDegree(int vertexId) {
+        validateVertex(vertexId);
+        return outDegrees[vertexId];
+    }
+
+    @Override
+    public void forEachNeighbour(int vertexId, IntConsumer action) {
+        validateVertex(vertexId);
+        matrix.forEachInRow(vertexId, action);
+    }
+
+    private void validateVertex(int vertexId) {
+        if (!containsVertex(vertexId)) {
+            throw new IllegalArgumentException("Вершина " + VertexLabels.defaultLabel(vertexId) + " не найдена");
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package data_structures;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Неизменяемый снимок графа в формате CSR: соседи вершины v лежат
+ * в targets[offsets[v] .. offsets[v + 1]) и отсортированы по возрастанию.
+ * Веса рёбер хранятся в параллельном массиве weights; если все веса равны 1,
+ * массив не создаётся.
+ */
+@Getter
+public class CsrGraph implements GraphView {
+    private final int vertexCount;
+    private final int idBound;
+
+    @Getter(AccessLevel.NONE)
+    private final int[] offsets;
+    @Getter(AccessLevel.NONE)
+    private final int[] targets;
+    @Getter(AccessLevel.NONE)
+    private final double[] weights;
+    @Getter(AccessLevel.NONE)
+    private final boolean[] present;
+
+    private CsrGraph(int vertexCount, int[] offsets, int[] targets, double[] weights, boolean[] present) {
+        this.vertexCount = vertexCount;
+        this.idBound = present.length;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.present = present;
+    }
+
+    public static CsrGraph fromDescriptor(GraphDescriptor graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
+        }
+
+        int idBound = graph.getIdBound();
+        int[] offsets = new int[idBound + 1];
+        boolean[] present = new boolean[idBound];
+        boolean weighted = false;
+        int maxDegree = 0;
+
+        GraphNode currentNode = graph.getFirstNode();
+        while (currentNode != null) {
+            int degree = 0;
+            for (EdgeNode edge = currentNode.getFirstEdge(); edge != null; edge = edge.getNextEdge()) {
+                weighted |= edge.getWeight() != 1.0;
+                degree++;
+            }
+            maxDegree = Math.max(maxDegree, degree);
+            offsets[currentNode.getId() + 1] = degree;
+            present[currentNode.getId()] = true;
+            currentNode = currentNode.getNextDataNode();
+        }
+
+        for (int i = 0; i < idBound; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        int[] targets = new int[offsets[idBound]];
+        double[] weights = weighted ? new double[targets.length] : null;
+        // Соседи сортируются вместе с весами: ключ — id соседа в старших 32 битах,
+        // номер ребра в списке — в младших
+        long[] order = weighted ? new long[maxDegree] : null;
+        double[] listWeights = weighted ? new double[maxDegree] : null;
+
+        currentNode = graph.getFirstNode();
+        while (currentNode != null) {
+            int from = offsets[currentNode.getId()];
+            if (weighted) {
+                int degree = 0;
+                for (EdgeNode edge = currentNode.getFirstEdge(); edge != null; edge = edge.getNextEdge()) {
+                    order[degree] = ((long) edge.getTargetNode().getId() << 32) | degree;
+                    listWeights[degree++] = edge.getWeight();
+                }
+                Arrays.sort(order, 0, degree);
+                for (int i = 0; i < degree; i++) {
+                    targets[from + i] = (int) (order[i] >>> 32);
+                    weights[from + i] = listWeights[(int) order[i]];
+                }
+            } else {
+                int position = from;
+                for (EdgeNode edge = currentNode.getFirstEdge(); edge != null; edge = edge.getNextEdge()) {
+                    targets[position++] = edge.getTargetNode().getId();
+                }
+                Arrays.sort(targets, from, position);
+            }
+            currentNode = currentNode.getNextDataNode();
+        }
+
+        return new CsrGraph(graph.getVertexCount(), offsets, targets, weights, present);
+    }
+
+    // Снимок по матрице смежности без промежуточного GraphDescriptor:
+    // строки просматриваются по возрастанию столбцов, поэтому соседи уже отсортированы
+    public static CsrGraph fromMatrix(int[][] adjacencyMatrix) {
+        if (adjacencyMatrix == null || adjacencyMatrix.length == 0) {
+            throw new IllegalArgumentException("Матрица не может быть пустой");
+        }
+
+        int n = adjacencyMatrix.length;
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            int degree = 0;
+            for (int j = 0; j < n; j++) {
+                if (adjacencyMatrix[i][j] == 1) {
+                    degree++;
+                }
+            }
+            offsets[i + 1] = offsets[i] + degree;
+        }
+
+        int[] targets = new int[offsets[n]];
+        for (int i = 0; i < n; i++) {
+            int position = offsets[i];
+            for (int j = 0; j < n; j++) {
+                if (adjacencyMatrix[i][j] == 1) {
+                    targets[position++] = j;
+                }
+            }
+        }
+
+        boolean[] present = new boolean[n];
+        Arrays.fill(present, true);
+        return new CsrGraph(n, offsets, targets, null, present);
+    }
+
+    // Граф с обращёнными рёбрами: соседи вершины v — её предшественники в исходном графе
+    public CsrGraph transpose() {
+        int[] transposedOffsets = new int[idBound + 1];
+        for (int target : targets) {
+            transposedOffsets[target + 1]++;
+        }
+        for (int i = 0; i < idBound; i++) {
+            transposedOffsets[i + 1] += transposedOffsets[i];
+        }
+
+        int[] transposedTargets = new int[targets.length];
+        double[] transposedWeights = weights == null ? null : new double[weights.length];
+        int[] positions = Arrays.copyOf(transposedOffsets, idBound);
+        for (int source = 0; source < idBound; source++) {
+            for (int i = offsets[source]; i < offsets[source + 1]; i++) {
+                int position = positions[targets[i]]++;
+                transposedTargets[position] = source;
+                if (weights != null) {
+                    transposedWeights[position] = weights[i];
+                }
+            }
+        }
+
+        return new CsrGraph(vertexCount, transposedOffsets, transposedTargets, transposedWeights, present);
+    }
+
+    @Override
+    public long getEdgeCount() {
+        return targets.length;
+    }
+
+    @Override
+    public boolean containsVertex(int vertexId) {
+        return vertexId >= 0 && vertexId < idBound && present[vertexId];
+    }
+
+    @Override
+    public boolean findEdge(int sourceVertex, int targetVertex) {
+        if (!containsVertex(sourceVertex) || !containsVertex(targetVertex)) {
+            return false;
+        }
+        return Arrays.binarySearch(targets, offsets[sourceVertex], offsets[sourceVertex + 1], targetVertex) >= 0;
+    }
+
+    public int degree(int vertexId) {
+        if (!containsVertex(vertexId)) {
+            return 0;
+        }
+        return offsets[vertexId + 1] - offsets[vertexId];
+    }
+
+    @Override
+    public int outDegree(int vertexId) {
+        return degree(vertexId);
+    }
+
+    public int neighbourStart(int vertexId) {
+        return offsets[vertexId];
+    }
+
+    public int neighbourEnd(int vertexId) {
+        return offsets[vertexId + 1];
+    }
+
+    public int targetAt(int position) {
+        return targets[position];
+    }
+
+    public double weightAt(int position) {
+        return weights == null ? 1.0 : weights[position];
+    }
+
+    public boolean isWeighted() {
+        return weights != null;
+    }
+
+    @Override
+    public void forEachNeighbour(int vertexId, IntConsumer action) {
+        if (!containsVertex(vertexId)) {
+            return;
+        }
+        for (int i = offsets[vertexId]; i < offsets[vertexId + 1]; i++) {
+            action.accept(targets[i]);
+        }
+    }
+
+    public int[] neighbours(int vertexId) {
+        if (!containsVertex(vertexId)) {
+            return new int[0];
+        }
+        return Arrays.copyOfRange(targets, offsets[vertexId], offsets[vertexId + 1]);
+    }
+}
@@ -0,0 +1,51 @@
+package data_structures;
+
+import java.util.Arrays;
+
+/**
+ * Гистограмма степеней вершин: counts[d] — число вершин степени d.
+ * Максимальная степень поддерживается при каждом изменении.
+ */
+public class DegreeHistogram {
+    private long[] counts;
+    private int maxDegree;
+
+    public DegreeHistogram() {
+        this.counts = new long[16];
+        this.maxDegree = 0;
+    }
+
+    public void add(int degree) {
+        if (degree >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(degree + 1, counts.length * 2));
+        }
+        counts[degree]++;
+        if (degree > maxDegree) {
+            maxDegree = degree;
+        }
+    }
+
+    public void remove(int degree) {
+        counts[degree]--;
+        while (maxDegree > 0 && counts[maxDegree] == 0) {
+            maxDegree--;
+        }
+    }
+
+    public void move(int fromDegree, int toDegree) {
+        add(toDegree);
+        remove(fromDegree);
+    }
+
+    public int getMaxDegree() {
+        return maxDegree;
+    }
+
+    public long count(int degree) {
+        return degree >= 0 && degree < counts.length ? counts[degree] : 0;
+    }
+
+    public long[] toArray() {
+        return Arrays.copyOf(counts, maxDegree + 1);
+    }
+}
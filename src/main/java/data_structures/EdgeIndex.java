@@ -0,0 +1,59 @@
+package data_structures;
+
+/**
+ * Хеш-индекс исходящих рёбер вершины: id соседа -> узел EdgeNode.
+ * Таблица ключей общая с IntHashSet (IntKeyTable), узлы лежат
+ * в параллельном массиве edges.
+ * Позволяет найти ребро вершины с большой степенью и исключить его за O(1).
+ */
+public class EdgeIndex extends IntKeyTable {
+    private EdgeNode[] edges;
+
+    public EdgeIndex(int expectedSize) {
+        super(expectedSize);
+        this.edges = new EdgeNode[keys.length];
+    }
+
+    public EdgeNode get(int targetId) {
+        // Таблица и значения читаются один раз: при чтении без блокировки
+        // (ConcurrentGraph) несогласованная пара отсекается проверкой штампа
+        int[] table = keys;
+        EdgeNode[] values = edges;
+        int index = slotOf(table, targetId);
+        return index < 0 || index >= values.length ? null : values[index];
+    }
+
+    public boolean contains(int targetId) {
+        return get(targetId) != null;
+    }
+
+    public void put(int targetId, EdgeNode edge) {
+        // Вставка может перестроить таблицу и заменить массив edges
+        int index = insertSlot(targetId);
+        edges[index] = edge;
+    }
+
+    public boolean remove(int targetId) {
+        int index = removeSlot(targetId);
+        if (index < 0) {
+            return false;
+        }
+        edges[index] = null;
+        return true;
+    }
+
+    @Override
+    void rehash(int capacity) {
+        int[] oldKeys = keys;
+        EdgeNode[] oldEdges = edges;
+        super.rehash(capacity);
+
+        EdgeNode[] values = new EdgeNode[keys.length];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] >= 0) {
+                values[slotOf(keys, oldKeys[i])] = oldEdges[i];
+            }
+        }
+        edges = values;
+    }
+}
@@ -3,14 +3,30 @@ package data_structures;
 import lombok.Getter;
 import lombok.Setter;
 
+/**
+ * Элемент двусвязного списка смежности. При включённом обратном индексе
+ * twinEdge связывает исходящее ребро с его копией во входящем списке цели,
+ * поэтому найденное ребро исключается из обоих списков за O(1).
+ * Вес ребра по умолчанию равен 1.
+ */
 @Getter
 @Setter
 public class EdgeNode {
     private GraphNode targetNode;
     private EdgeNode nextEdge;
+    private EdgeNode prevEdge;
+    private EdgeNode twinEdge;
+    private double weight;
 
     public EdgeNode(GraphNode targetNode) {
+        this(targetNode, 1.0);
+    }
+
+    public EdgeNode(GraphNode targetNode, double weight) {
         this.targetNode = targetNode;
         this.nextEdge = null;
+        this.prevEdge = null;
+        this.twinEdge = null;
+        this.weight = weight;
     }
 }
@@ -0,0 +1,23 @@
+package data_structures;
+
+/**
+ * Общий интерфейс изменяемых хранилищ ориентированного графа с вершинами-числами.
+ * Ошибки (нет вершины, повторное или отсутствующее ребро) сообщаются
+ * через IllegalArgumentException. Реализации: LinkedGraph (списки смежности),
+ * BitMatrixGraph, HashGraph и OffHeapGraph; неизменяемый CsrGraph
+ * реализует только GraphView.
+ */
+public interface Graph extends GraphView {
+
+    void addVertex(int vertexId);
+
+    // Удаляет вершину вместе со входящими и исходящими рёбрами
+    void deleteVertex(int vertexId);
+
+    void addEdge(int sourceId, int targetId);
+
+    void removeEdge(int sourceId, int targetId);
+
+    // Добавляет рёбра без проверки на дубликаты, для начальной загрузки
+    void appendEdges(int sourceId, int[] targetIds, int offset, int count);
+}
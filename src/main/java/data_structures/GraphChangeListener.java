@@ -0,0 +1,18 @@
+package data_structures;
+
+/**
+ * Подписчик на изменения GraphDescriptor, например индекс или кэш,
+ * построенный по графу. Методы вызываются сразу после изменения,
+ * в потоке, который его выполнил.
+ */
+public interface GraphChangeListener {
+
+    void vertexAdded(int vertexId);
+
+    // Вызывается после того, как удалены все рёбра вершины
+    void vertexDeleted(int vertexId);
+
+    void edgeAdded(int sourceId, int targetId);
+
+    void edgeRemoved(int sourceId, int targetId);
+}
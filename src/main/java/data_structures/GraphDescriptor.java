@@ -1,17 +1,260 @@
 package data_structures;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.Arrays;
+
 @Getter
-@Setter
 public class GraphDescriptor {
     private GraphNode firstNode;
+    private GraphNode lastNode;
     private int vertexCount;
+    private int idBound;
+    private final VertexLabels labels;
+    @Setter
+    private boolean reverseIndexEnabled;
+    private long edgeCount;
+
+    @Getter(AccessLevel.NONE)
+    private final DegreeHistogram outDegreeHistogram;
+    @Getter(AccessLevel.NONE)
+    private final DegreeHistogram inDegreeHistogram;
+
+    @Getter(AccessLevel.NONE)
+    private GraphNode[] vertexIndex;
+
+    // Массив заменяется целиком при подписке, поэтому рассылка идёт без блокировок
+    @Getter(AccessLevel.NONE)
+    private volatile GraphChangeListener[] listeners;
 
     public GraphDescriptor() {
+        this(16);
+    }
+
+    public GraphDescriptor(int expectedVertices) {
         this.firstNode = null;
+        this.lastNode = null;
         this.vertexCount = 0;
+        this.idBound = 0;
+        this.labels = new VertexLabels();
+        this.reverseIndexEnabled = false;
+        this.edgeCount = 0;
+        this.outDegreeHistogram = new DegreeHistogram();
+        this.inDegreeHistogram = new DegreeHistogram();
+        this.vertexIndex = new GraphNode[Math.max(expectedVertices, 1)];
+        this.listeners = new GraphChangeListener[0];
+    }
+
+    public synchronized void addChangeListener(GraphChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Подписчик не может быть null");
+        }
+        GraphChangeListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[listeners.length] = listener;
+        listeners = updated;
+    }
+
+    public synchronized void removeChangeListener(GraphChangeListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                GraphChangeListener[] updated = new GraphChangeListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, updated, 0, i);
+                System.arraycopy(listeners, i + 1, updated, i, updated.length - i);
+                listeners = updated;
+                return;
+            }
+        }
+    }
+
+    public GraphNode findVertex(int id) {
+        if (id < 0 || id >= idBound) {
+            return null;
+        }
+        return vertexIndex[id];
+    }
+
+    public boolean containsVertex(int id) {
+        return findVertex(id) != null;
+    }
+
+    public int findIdByLabel(String label) {
+        int id = labels.idOf(label);
+        return containsVertex(id) ? id : -1;
+    }
+
+    public String labelOf(int id) {
+        return labels.labelOf(id);
+    }
+
+    public String labelOf(GraphNode vertex) {
+        return labels.labelOf(vertex.getId());
+    }
+
+    public void addVertex(GraphNode vertex) {
+        int id = vertex.getId();
+        if (id < 0) {
+            throw new IllegalArgumentException("Неверный идентификатор вершины: " + id);
+        }
+        if (id >= vertexIndex.length) {
+            vertexIndex = Arrays.copyOf(vertexIndex, Math.max(id + 1, vertexIndex.length * 2));
+        }
+
+        if (lastNode == null) {
+            firstNode = vertex;
+        } else {
+            lastNode.setNextDataNode(vertex);
+        }
+        vertex.setPrevDataNode(lastNode);
+        lastNode = vertex;
+        vertexIndex[id] = vertex;
+        idBound = Math.max(idBound, id + 1);
+        incrementVertexCount();
+
+        synchronized (this) {
+            outDegreeHistogram.add(vertex.getOutDegree());
+            inDegreeHistogram.add(vertex.getInDegree());
+        }
+        for (GraphChangeListener listener : listeners) {
+            listener.vertexAdded(id);
+        }
+    }
+
+    public void deleteVertex(GraphNode vertex) {
+        int id = vertex.getId();
+        if (findVertex(id) != vertex) {
+            return;
+        }
+        vertexIndex[id] = null;
+        labels.remove(id);
+        forgetDegrees(vertex);
+
+        // Удаление из двусвязного списка вершин за O(1)
+        GraphNode previousNode = vertex.getPrevDataNode();
+        GraphNode nextNode = vertex.getNextDataNode();
+        if (previousNode == null) {
+            firstNode = nextNode;
+        } else {
+            previousNode.setNextDataNode(nextNode);
+        }
+        if (nextNode == null) {
+            lastNode = previousNode;
+        } else {
+            nextNode.setPrevDataNode(previousNode);
+        }
+        vertex.setNextDataNode(null);
+        vertex.setPrevDataNode(null);
+
+        decrementVertexCount();
+        for (GraphChangeListener listener : listeners) {
+            listener.vertexDeleted(id);
+        }
+    }
+
+    // Удаляет за один проход по списку все вершины, отмеченные в markedIds
+    public int deleteVertices(boolean[] markedIds) {
+        int removed = 0;
+        GraphNode previousNode = null;
+        GraphNode currentNode = firstNode;
+
+        while (currentNode != null) {
+            GraphNode nextNode = currentNode.getNextDataNode();
+            int id = currentNode.getId();
+
+            if (id < markedIds.length && markedIds[id]) {
+                if (previousNode == null) {
+                    firstNode = nextNode;
+                } else {
+                    previousNode.setNextDataNode(nextNode);
+                }
+                if (nextNode != null) {
+                    nextNode.setPrevDataNode(previousNode);
+                }
+                currentNode.setNextDataNode(null);
+                currentNode.setPrevDataNode(null);
+                vertexIndex[id] = null;
+                labels.remove(id);
+                forgetDegrees(currentNode);
+                decrementVertexCount();
+                for (GraphChangeListener listener : listeners) {
+                    listener.vertexDeleted(id);
+                }
+                removed++;
+            } else {
+                previousNode = currentNode;
+            }
+            currentNode = nextNode;
+        }
+
+        lastNode = previousNode;
+        return removed;
+    }
+
+    // Счётчики рёбер и степеней обновляются при каждом изменении графа;
+    // методы синхронизированы, так как ConcurrentGraph добавляет рёбра из разных потоков
+    public synchronized void recordEdgeAdded(GraphNode source, GraphNode target) {
+        outDegreeHistogram.move(source.getOutDegree(), source.getOutDegree() + 1);
+        source.setOutDegree(source.getOutDegree() + 1);
+        inDegreeHistogram.move(target.getInDegree(), target.getInDegree() + 1);
+        target.setInDegree(target.getInDegree() + 1);
+        edgeCount++;
+        for (GraphChangeListener listener : listeners) {
+            listener.edgeAdded(source.getId(), target.getId());
+        }
+    }
+
+    public synchronized void recordEdgeRemoved(GraphNode source, GraphNode target) {
+        outDegreeHistogram.move(source.getOutDegree(), source.getOutDegree() - 1);
+        source.setOutDegree(source.getOutDegree() - 1);
+        inDegreeHistogram.move(target.getInDegree(), target.getInDegree() - 1);
+        target.setInDegree(target.getInDegree() - 1);
+        edgeCount--;
+        for (GraphChangeListener listener : listeners) {
+            listener.edgeRemoved(source.getId(), target.getId());
+        }
+    }
+
+    // Массовое построение: рёбра связаны без recordEdgeAdded, а степени выставлены
+    // прямо в вершинах, добавленных с нулевыми степенями. Гистограммы и число рёбер
+    // обновляются одним проходом; подписчиков у строящегося графа ещё нет
+    public synchronized void recordLinkedDegrees() {
+        long linked = 0;
+        for (GraphNode node = firstNode; node != null; node = node.getNextDataNode()) {
+            outDegreeHistogram.move(0, node.getOutDegree());
+            inDegreeHistogram.move(0, node.getInDegree());
+            linked += node.getOutDegree();
+        }
+        edgeCount += linked;
+    }
+
+    private synchronized void forgetDegrees(GraphNode vertex) {
+        outDegreeHistogram.remove(vertex.getOutDegree());
+        inDegreeHistogram.remove(vertex.getInDegree());
+    }
+
+    public synchronized long getEdgeCount() {
+        return edgeCount;
+    }
+
+    public synchronized double getAverageDegree() {
+        return vertexCount == 0 ? 0.0 : (double) edgeCount / vertexCount;
+    }
+
+    public synchronized int getMaxOutDegree() {
+        return vertexCount == 0 ? 0 : outDegreeHistogram.getMaxDegree();
+    }
+
+    public synchronized int getMaxInDegree() {
+        return vertexCount == 0 ? 0 : inDegreeHistogram.getMaxDegree();
+    }
+
+    public synchronized long[] getOutDegreeHistogram() {
+        return outDegreeHistogram.toArray();
+    }
+
+    public synchronized long[] getInDegreeHistogram() {
+        return inDegreeHistogram.toArray();
     }
 
     public void incrementVertexCount() {
@@ -6,13 +6,24 @@ import lombok.Setter;
 @Getter
 @Setter
 public class GraphNode {
-    private char data;
+    private int id;
     private GraphNode nextDataNode;
+    // Обратная ссылка списка вершин: удаление вершины не ищет предшественника
+    private GraphNode prevDataNode;
     private EdgeNode firstEdge;
+    private EdgeNode firstInEdge;
+    private int outDegree;
+    private int inDegree;
+    private EdgeIndex edgeIndex;
 
-    public GraphNode(char data) {
-        this.data = data;
+    public GraphNode(int id) {
+        this.id = id;
         this.nextDataNode = null;
+        this.prevDataNode = null;
         this.firstEdge = null;
+        this.firstInEdge = null;
+        this.outDegree = 0;
+        this.inDegree = 0;
+        this.edgeIndex = null;
     }
 }
@@ -0,0 +1,26 @@
+package data_structures;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Чтение ориентированного графа с вершинами-числами.
+ * Его реализует и неизменяемый снимок CsrGraph, и все изменяемые
+ * хранилища через интерфейс Graph.
+ */
+public interface GraphView {
+
+    int getVertexCount();
+
+    // Все id вершин меньше этой границы
+    int getIdBound();
+
+    long getEdgeCount();
+
+    boolean containsVertex(int vertexId);
+
+    boolean findEdge(int sourceId, int targetId);
+
+    int outDegree(int vertexId);
+
+    void forEachNeighbour(int vertexId, IntConsumer action);
+}
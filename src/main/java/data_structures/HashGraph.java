@@ -0,0 +1,134 @@
+package data_structures;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Граф со множеством соседей IntHashSet у каждой вершины.
+ * Добавление, удаление и поиск ребра выполняются за O(1) в среднем,
+ * что подходит для разреженных графов с частыми изменениями.
+ */
+public class HashGraph implements Graph {
+    // Элемент null — вершины с таким id нет
+    private IntHashSet[] adjacency;
+    private int vertexCount;
+    private int idBound;
+    private long edgeCount;
+
+    public HashGraph(int expectedVertices) {
+        this.adjacency = new IntHashSet[Math.max(expectedVertices, 1)];
+        this.vertexCount = 0;
+        this.idBound = 0;
+        this.edgeCount = 0;
+    }
+
+    @Override
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    @Override
+    public int getIdBound() {
+        return idBound;
+    }
+
+    @Override
+    public long getEdgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public boolean containsVertex(int vertexId) {
+        return vertexId >= 0 && vertexId < idBound && adjacency[vertexId] != null;
+    }
+
+    @Override
+    public void addVertex(int vertexId) {
+        if (vertexId < 0) {
+            throw new IllegalArgumentException("Неверный идентификатор вершины: " + vertexId);
+        }
+        if (containsVertex(vertexId)) {
+            throw new IllegalArgumentException("Вершина " + VertexLabels.defaultLabel(vertexId) + " уже существует");
+        }
+        if (vertexId >= adjacency.length) {
+            adjacency = Arrays.copyOf(adjacency, Math.max(vertexId + 1, adjacency.length * 2));
+        }
+
+        adjacency[vertexId] = new IntHashSet(4);
+        idBound = Math.max(idBound, vertexId + 1);
+        vertexCount++;
+    }
+
+    @Override
+    public void deleteVertex(int vertexId) {
+        validateVertex(vertexId);
+
+        edgeCount -= adjacency[vertexId].size();
+        adjacency[vertexId] = null;
+        vertexCount--;
+
+        for (int id = 0; id < idBound; id++) {
+            if (adjacency[id] != null && adjacency[id].remove(vertexId)) {
+                edgeCount--;
+            }
+        }
+    }
+
+    @Override
+    public void addEdge(int sourceId, int targetId) {
+        validateVertex(sourceId);
+        validateVertex(targetId);
+        if (!adjacency[sourceId].add(targetId)) {
+            throw new IllegalArgumentException("Ребро " + VertexLabels.defaultLabel(sourceId) + " -> "
+                    + VertexLabels.defaultLabel(targetId) + " уже существует");
+        }
+        edgeCount++;
+    }
+
+    @Override
+    public void removeEdge(int sourceId, int targetId) {
+        validateVertex(sourceId);
+        validateVertex(targetId);
+        if (!adjacency[sourceId].remove(targetId)) {
+            throw new IllegalArgumentException("Ребро " + VertexLabels.defaultLabel(sourceId) + " -> "
+                    + VertexLabels.defaultLabel(targetId) + " не найдено");
+        }
+        edgeCount--;
+    }
+
+    // Повторные рёбра множество не хранит, поэтому просто пропускаются
+    @Override
+    public void appendEdges(int sourceId, int[] targetIds, int offset, int count) {
+        validateVertex(sourceId);
+        IntHashSet neighbours = adjacency[sourceId];
+        for (int i = offset; i < offset + count; i++) {
+            validateVertex(targetIds[i]);
+            if (neighbours.add(targetIds[i])) {
+                edgeCount++;
+            }
+        }
+    }
+
+    @Override
+    public boolean findEdge(int sourceId, int targetId) {
+        return containsVertex(sourceId) && containsVertex(targetId) && adjacency[sourceId].contains(targetId);
+    }
+
+    @Override
+    public int outDegree(int vertexId) {
+        validateVertex(vertexId);
+        return adjacency[vertexId].size();
+    }
+
+    @Override
+    public void forEachNeighbour(int vertexId, IntConsumer action) {
+        validateVertex(vertexId);
+        adjacency[vertexId].forEach(action);
+    }
+
+    private void validateVertex(int vertexId) {
+        if (!containsVertex(vertexId)) {
+            throw new IllegalArgumentException("Вершина " + VertexLabels.defaultLabel(vertexId) + " не найдена");
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package data_structures;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Множество неотрицательных int с открытой адресацией и линейным пробированием.
+ * Используется как индекс соседей для вершин с большой степенью.
+ * Отрицательных ключей во множестве быть не может: contains и remove
+ * для них возвращают false, add отклоняет их.
+ */
+public class IntHashSet extends IntKeyTable {
+
+    public IntHashSet(int expectedSize) {
+        super(expectedSize);
+    }
+
+    public boolean contains(int key) {
+        return slotOf(keys, key) >= 0;
+    }
+
+    public boolean add(int key) {
+        int before = size;
+        insertSlot(key);
+        return size != before;
+    }
+
+    public boolean remove(int key) {
+        return removeSlot(key) >= 0;
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int key : keys) {
+            if (key >= 0) {
+                action.accept(key);
+            }
+        }
+    }
+}
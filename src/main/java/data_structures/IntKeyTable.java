@@ -0,0 +1,135 @@
+package data_structures;
+
+import java.util.Arrays;
+
+/**
+ * Общая часть IntHashSet и EdgeIndex: таблица неотрицательных int-ключей
+ * с открытой адресацией и линейным пробированием. Удалённые ключи
+ * помечаются DELETED; когда занятых ячеек (с удалёнными) больше половины,
+ * таблица перестраивается. Методы работают с номерами ячеек, чтобы
+ * наследник мог хранить значения в параллельном массиве.
+ */
+abstract class IntKeyTable {
+    static final int EMPTY = -1;
+    static final int DELETED = -2;
+
+    int[] keys;
+    int size;
+    private int used;
+
+    IntKeyTable(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 4) * 2 - 1) << 1;
+        this.keys = newTable(capacity);
+        this.size = 0;
+        this.used = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Ячейка ключа в таблице table или -1; таблица передаётся явно,
+    // чтобы читатель без блокировки работал с одной её версией
+    static int slotOf(int[] table, int key) {
+        if (key < 0) {
+            return -1;
+        }
+
+        // Не больше table.length проб: читатель без блокировки может увидеть новую таблицу
+        // до заполнения EMPTY (одни нули), и поиск до EMPTY не завершился бы
+        int tableMask = table.length - 1;
+        int index = hash(key) & tableMask;
+        for (int probe = 0; probe < table.length; probe++) {
+            int current = table[index];
+            if (current == key) {
+                return index;
+            }
+            if (current == EMPTY) {
+                return -1;
+            }
+            index = (index + 1) & tableMask;
+        }
+        return -1;
+    }
+
+    // Ячейка, в которой находится ключ после вставки; если ключа не было,
+    // size увеличивается. Таблица при необходимости перестраивается до вставки,
+    // поэтому возвращённая ячейка остаётся действительной
+    final int insertSlot(int key) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Ключ должен быть неотрицательным: " + key);
+        }
+
+        int mask = keys.length - 1;
+        int index = hash(key) & mask;
+        int firstDeleted = -1;
+        while (true) {
+            int current = keys[index];
+            if (current == key) {
+                return index;
+            }
+            if (current == EMPTY) {
+                break;
+            }
+            if (current == DELETED && firstDeleted < 0) {
+                firstDeleted = index;
+            }
+            index = (index + 1) & mask;
+        }
+
+        if (firstDeleted >= 0) {
+            index = firstDeleted;
+        } else if ((used + 1) * 2 > keys.length) {
+            rehash((size + 1) * 2 > keys.length / 2 ? keys.length * 2 : keys.length);
+            index = freeSlot(keys, key);
+            used++;
+        } else {
+            used++;
+        }
+        keys[index] = key;
+        size++;
+        return index;
+    }
+
+    // Ячейка удалённого ключа или -1, если ключа не было
+    final int removeSlot(int key) {
+        int index = slotOf(keys, key);
+        if (index >= 0) {
+            keys[index] = DELETED;
+            size--;
+        }
+        return index;
+    }
+
+    // Наследник с массивом значений переопределяет метод и переносит значения
+    void rehash(int capacity) {
+        int[] table = newTable(capacity);
+        for (int key : keys) {
+            if (key >= 0) {
+                table[freeSlot(table, key)] = key;
+            }
+        }
+        keys = table;
+        used = size;
+    }
+
+    private static int freeSlot(int[] table, int key) {
+        int tableMask = table.length - 1;
+        int index = hash(key) & tableMask;
+        while (table[index] != EMPTY) {
+            index = (index + 1) & tableMask;
+        }
+        return index;
+    }
+
+    private static int[] newTable(int capacity) {
+        int[] table = new int[capacity];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
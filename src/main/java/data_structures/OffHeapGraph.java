@@ -0,0 +1,335 @@
+package data_structures;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntConsumer;
+
+/**
+ * Граф, хранящий таблицу вершин и списки смежности вне кучи.
+ * Вершина — запись из 16 байт: первый блок и длина списка исходящих рёбер,
+ * затем то же для входящих. Списки лежат в блоках по 64 байта: номер
+ * следующего блока, число элементов и до 14 id соседей. Каждое ребро
+ * записано дважды — в исходящем списке источника и во входящем списке цели,
+ * поэтому удаление вершины не просматривает весь граф. Новые элементы пишутся
+ * в первый блок списка, освободившиеся блоки собираются в список свободных
+ * и используются повторно.
+ * В куче остаются только массивы ссылок на страницы, поэтому её расход
+ * не зависит от размера графа.
+ */
+public class OffHeapGraph implements Graph, Closeable {
+
+    private static final int VERTEX_SIZE = 16;
+    private static final int BLOCK_SIZE = 64;
+    private static final int BLOCK_EDGES = (BLOCK_SIZE - 8) / 4;
+
+    // Смещения списков в записи вершины
+    private static final int OUT = 0;
+    private static final int IN = 8;
+
+    // Значения поля первого блока
+    private static final int NO_BLOCK = -1;
+    private static final int ABSENT = -2;
+
+    private final PagedBuffer vertices;
+    private final PagedBuffer blocks;
+    private int idBound;
+    private int vertexCount;
+    private long edgeCount;
+    private int blockCount;
+    private int freeBlock;
+
+    public OffHeapGraph() {
+        this(null, null);
+    }
+
+    private OffHeapGraph(FileChannel vertexFile, FileChannel blockFile) {
+        this.vertices = new PagedBuffer(vertexFile);
+        this.blocks = new PagedBuffer(blockFile);
+        this.idBound = 0;
+        this.vertexCount = 0;
+        this.edgeCount = 0;
+        this.blockCount = 0;
+        this.freeBlock = NO_BLOCK;
+    }
+
+    // Граф в файлах vertices.bin и edges.bin каталога directory; содержимое
+    // файлов перезаписывается, они служат только продолжением памяти
+    public static OffHeapGraph mapped(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        FileChannel vertexFile = openTruncated(directory.resolve("vertices.bin"));
+        try {
+            return new OffHeapGraph(vertexFile, openTruncated(directory.resolve("edges.bin")));
+        } catch (IOException | RuntimeException e) {
+            vertexFile.close();
+            throw e;
+        }
+    }
+
+    private static FileChannel openTruncated(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    @Override
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    @Override
+    public int getIdBound() {
+        return idBound;
+    }
+
+    @Override
+    public long getEdgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public boolean containsVertex(int vertexId) {
+        return vertexId >= 0 && vertexId < idBound && firstBlock(vertexId, OUT) != ABSENT;
+    }
+
+    @Override
+    public void addVertex(int vertexId) {
+        if (vertexId < 0) {
+            throw new IllegalArgumentException("Неверный идентификатор вершины: " + vertexId);
+        }
+        if (containsVertex(vertexId)) {
+            throw new IllegalArgumentException("Вершина " + VertexLabels.defaultLabel(vertexId) + " уже существует");
+        }
+
+        // Память добавляется постранично, а не удвоением
+        vertices.ensureCapacity(((long) vertexId + 1) * VERTEX_SIZE);
+        // Промежуток между старой границей и новой вершиной помечается как пустой
+        for (int id = idBound; id < vertexId; id++) {
+            setFirstBlock(id, OUT, ABSENT);
+        }
+
+        setFirstBlock(vertexId, OUT, NO_BLOCK);
+        setLength(vertexId, OUT, 0);
+        setFirstBlock(vertexId, IN, NO_BLOCK);
+        setLength(vertexId, IN, 0);
+        idBound = Math.max(idBound, vertexId + 1);
+        vertexCount++;
+    }
+
+    @Override
+    public void deleteVertex(int vertexId) {
+        validateVertex(vertexId);
+
+        // Соседи узнают об удалении через свои списки, петли учитываются один раз
+        forEachEntry(vertexId, OUT, targetId -> {
+            if (targetId != vertexId) {
+                removeEntry(targetId, IN, vertexId);
+            }
+        });
+        forEachEntry(vertexId, IN, sourceId -> {
+            if (sourceId != vertexId) {
+                removeEntry(sourceId, OUT, vertexId);
+                edgeCount--;
+            }
+        });
+        edgeCount -= length(vertexId, OUT);
+
+        // Собственные списки вершины целиком возвращаются в список свободных
+        releaseList(vertexId, OUT);
+        releaseList(vertexId, IN);
+        setFirstBlock(vertexId, OUT, ABSENT);
+        vertexCount--;
+    }
+
+    @Override
+    public void addEdge(int sourceId, int targetId) {
+        validateVertex(sourceId);
+        validateVertex(targetId);
+        if (findEdge(sourceId, targetId)) {
+            throw new IllegalArgumentException("Ребро " + VertexLabels.defaultLabel(sourceId) + " -> "
+                    + VertexLabels.defaultLabel(targetId) + " уже существует");
+        }
+        linkTarget(sourceId, targetId);
+    }
+
+    @Override
+    public void removeEdge(int sourceId, int targetId) {
+        validateVertex(sourceId);
+        validateVertex(targetId);
+        if (!removeEntry(sourceId, OUT, targetId)) {
+            throw new IllegalArgumentException("Ребро " + VertexLabels.defaultLabel(sourceId) + " -> "
+                    + VertexLabels.defaultLabel(targetId) + " не найдено");
+        }
+        removeEntry(targetId, IN, sourceId);
+        edgeCount--;
+    }
+
+    @Override
+    public void appendEdges(int sourceId, int[] targetIds, int offset, int count) {
+        validateVertex(sourceId);
+        for (int i = offset; i < offset + count; i++) {
+            validateVertex(targetIds[i]);
+            linkTarget(sourceId, targetIds[i]);
+        }
+    }
+
+    @Override
+    public boolean findEdge(int sourceId, int targetId) {
+        if (!containsVertex(sourceId) || !containsVertex(targetId)) {
+            return false;
+        }
+        for (int block = firstBlock(sourceId, OUT); block != NO_BLOCK; block = blockNext(block)) {
+            long base = blockOffset(block);
+            int size = blocks.getInt(base + 4);
+            for (int i = 0; i < size; i++) {
+                if (blocks.getInt(base + 8 + 4L * i) == targetId) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int outDegree(int vertexId) {
+        validateVertex(vertexId);
+        return length(vertexId, OUT);
+    }
+
+    @Override
+    public void forEachNeighbour(int vertexId, IntConsumer action) {
+        validateVertex(vertexId);
+        forEachEntry(vertexId, OUT, action);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            vertices.close();
+        } finally {
+            blocks.close();
+        }
+    }
+
+    private void validateVertex(int vertexId) {
+        if (!containsVertex(vertexId)) {
+            throw new IllegalArgumentException("Вершина " + VertexLabels.defaultLabel(vertexId) + " не найдена");
+        }
+    }
+
+    private void linkTarget(int sourceId, int targetId) {
+        addEntry(sourceId, OUT, targetId);
+        addEntry(targetId, IN, sourceId);
+        edgeCount++;
+    }
+
+    private void addEntry(int vertexId, int list, int value) {
+        int head = firstBlock(vertexId, list);
+        if (head == NO_BLOCK || blockSize(head) == BLOCK_EDGES) {
+            int block = allocateBlock();
+            blocks.putInt(blockOffset(block), head);
+            blocks.putInt(blockOffset(block) + 4, 0);
+            setFirstBlock(vertexId, list, block);
+            head = block;
+        }
+
+        int size = blockSize(head);
+        blocks.putInt(blockOffset(head) + 8 + 4L * size, value);
+        blocks.putInt(blockOffset(head) + 4, size + 1);
+        setLength(vertexId, list, length(vertexId, list) + 1);
+    }
+
+    // Найденный элемент заменяется последним элементом первого блока,
+    // поэтому блоки, кроме первого, всегда остаются заполненными
+    private boolean removeEntry(int vertexId, int list, int value) {
+        int head = firstBlock(vertexId, list);
+        for (int block = head; block != NO_BLOCK; block = blockNext(block)) {
+            long base = blockOffset(block);
+            int size = blocks.getInt(base + 4);
+            for (int i = 0; i < size; i++) {
+                if (blocks.getInt(base + 8 + 4L * i) != value) {
+                    continue;
+                }
+
+                long headBase = blockOffset(head);
+                int headSize = blocks.getInt(headBase + 4);
+                blocks.putInt(base + 8 + 4L * i, blocks.getInt(headBase + 8 + 4L * (headSize - 1)));
+                blocks.putInt(headBase + 4, headSize - 1);
+                if (headSize == 1) {
+                    setFirstBlock(vertexId, list, blockNext(head));
+                    releaseBlock(head);
+                }
+                setLength(vertexId, list, length(vertexId, list) - 1);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void forEachEntry(int vertexId, int list, IntConsumer action) {
+        for (int block = firstBlock(vertexId, list); block != NO_BLOCK; block = blockNext(block)) {
+            long base = blockOffset(block);
+            int size = blocks.getInt(base + 4);
+            for (int i = 0; i < size; i++) {
+                action.accept(blocks.getInt(base + 8 + 4L * i));
+            }
+        }
+    }
+
+    private void releaseList(int vertexId, int list) {
+        int block = firstBlock(vertexId, list);
+        while (block != NO_BLOCK) {
+            int next = blockNext(block);
+            releaseBlock(block);
+            block = next;
+        }
+        setFirstBlock(vertexId, list, NO_BLOCK);
+        setLength(vertexId, list, 0);
+    }
+
+    private int allocateBlock() {
+        if (freeBlock != NO_BLOCK) {
+            int block = freeBlock;
+            freeBlock = blockNext(block);
+            return block;
+        }
+
+        blocks.ensureCapacity(((long) blockCount + 1) * BLOCK_SIZE);
+        return blockCount++;
+    }
+
+    private void releaseBlock(int block) {
+        blocks.putInt(blockOffset(block), freeBlock);
+        freeBlock = block;
+    }
+
+    private int firstBlock(int vertexId, int list) {
+        return vertices.getInt((long) vertexId * VERTEX_SIZE + list);
+    }
+
+    private void setFirstBlock(int vertexId, int list, int block) {
+        vertices.putInt((long) vertexId * VERTEX_SIZE + list, block);
+    }
+
+    private int length(int vertexId, int list) {
+        return vertices.getInt((long) vertexId * VERTEX_SIZE + list + 4);
+    }
+
+    private void setLength(int vertexId, int list, int length) {
+        vertices.putInt((long) vertexId * VERTEX_SIZE + list + 4, length);
+    }
+
+    private int blockNext(int block) {
+        return blocks.getInt(blockOffset(block));
+    }
+
+    private int blockSize(int block) {
+        return blocks.getInt(blockOffset(block) + 4);
+    }
+
+    private static long blockOffset(int block) {
+        return (long) block * BLOCK_SIZE;
+    }
+}
@@ -0,0 +1,66 @@
+package data_structures;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Память вне кучи, разбитая на страницы по 1 МБ: direct-буферы
+ * или окна отображённого в память файла. Смещения — long,
+ * поэтому объём не ограничен 2 ГБ одного ByteBuffer.
+ */
+class PagedBuffer implements Closeable {
+    private static final int PAGE_SHIFT = 20;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final long PAGE_MASK = PAGE_SIZE - 1;
+
+    private final FileChannel channel;
+    private ByteBuffer[] pages;
+    private int pageCount;
+
+    PagedBuffer(FileChannel channel) {
+        this.channel = channel;
+        this.pages = new ByteBuffer[16];
+        this.pageCount = 0;
+    }
+
+    void ensureCapacity(long bytes) {
+        while ((long) pageCount << PAGE_SHIFT < bytes) {
+            if (pageCount == pages.length) {
+                pages = Arrays.copyOf(pages, pages.length * 2);
+            }
+            pages[pageCount] = newPage(pageCount);
+            pageCount++;
+        }
+    }
+
+    private ByteBuffer newPage(int pageIndex) {
+        if (channel == null) {
+            return ByteBuffer.allocateDirect(PAGE_SIZE);
+        }
+        try {
+            return channel.map(FileChannel.MapMode.READ_WRITE, (long) pageIndex << PAGE_SHIFT, PAGE_SIZE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Не удалось отобразить страницу файла графа", e);
+        }
+    }
+
+    int getInt(long offset) {
+        return pages[(int) (offset >>> PAGE_SHIFT)].getInt((int) (offset & PAGE_MASK));
+    }
+
+    void putInt(long offset, int value) {
+        pages[(int) (offset >>> PAGE_SHIFT)].putInt((int) (offset & PAGE_MASK), value);
+    }
+
+    @Override
+    public void close() throws IOException {
+        Arrays.fill(pages, null);
+        pageCount = 0;
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
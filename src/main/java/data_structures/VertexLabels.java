@@ -0,0 +1,106 @@
+package data_structures;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Необязательный словарь внешних меток вершин.
+ * Вершинам без явной метки соответствует метка по умолчанию: A..Z, AA..AZ, BA и т.д.
+ */
+public class VertexLabels {
+    private final Map<String, Integer> idsByLabel;
+    private String[] labelsById;
+
+    public VertexLabels() {
+        this.idsByLabel = new HashMap<>();
+        this.labelsById = new String[16];
+    }
+
+    public static String defaultLabel(int id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Неверный идентификатор вершины: " + id);
+        }
+
+        char[] buffer = new char[8];
+        int position = buffer.length;
+        long value = (long) id + 1;
+        while (value > 0) {
+            value--;
+            buffer[--position] = (char) ('A' + value % 26);
+            value /= 26;
+        }
+        return new String(buffer, position, buffer.length - position);
+    }
+
+    public static int parseDefaultLabel(String label) {
+        if (label == null || label.isEmpty() || label.length() > 7) {
+            return -1;
+        }
+
+        long value = 0;
+        for (int i = 0; i < label.length(); i++) {
+            char c = label.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                return -1;
+            }
+            value = value * 26 + (c - 'A' + 1);
+        }
+
+        value--;
+        return value > Integer.MAX_VALUE ? -1 : (int) value;
+    }
+
+    public String labelOf(int id) {
+        if (id >= 0 && id < labelsById.length && labelsById[id] != null) {
+            return labelsById[id];
+        }
+        return defaultLabel(id);
+    }
+
+    public int idOf(String label) {
+        Integer id = idsByLabel.get(label);
+        if (id != null) {
+            return id;
+        }
+
+        int defaultId = parseDefaultLabel(label);
+        if (defaultId >= 0 && defaultId < labelsById.length && labelsById[defaultId] != null) {
+            return -1;
+        }
+        return defaultId;
+    }
+
+    public boolean hasExplicitLabel(int id) {
+        return id >= 0 && id < labelsById.length && labelsById[id] != null;
+    }
+
+    public void put(int id, String label) {
+        if (label == null || label.isEmpty()) {
+            throw new IllegalArgumentException("Метка вершины не может быть пустой");
+        }
+
+        Integer owner = idsByLabel.get(label);
+        if (owner != null && owner != id) {
+            throw new IllegalArgumentException("Метка " + label + " уже используется");
+        }
+
+        remove(id);
+        if (label.equals(defaultLabel(id))) {
+            return;
+        }
+
+        if (id >= labelsById.length) {
+            labelsById = Arrays.copyOf(labelsById, Math.max(id + 1, labelsById.length * 2));
+        }
+        labelsById[id] = label;
+        idsByLabel.put(label, id);
+    }
+
+    public void remove(int id) {
+        if (hasExplicitLabel(id)) {
+            idsByLabel.remove(labelsById[id]);
+            labelsById[id] = null;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Разбор матрицы смежности прямо из байтов файла, без Scanner и String.split.
+ * Первая строка содержит размер n, далее n строк по n чисел.
+ * В невзвешенной матрице допустимы только 0 и 1, во взвешенной — любые
+ * неотрицательные числа с необязательной дробной частью; 0 означает отсутствие ребра.
+ */
+class AdjacencyMatrixReader implements Closeable {
+    private static final int NO_ERROR = 0;
+    private static final int NUMBER_ERROR = 1;
+    private static final int VALUE_ERROR = 2;
+    private static final long INVALID_NUMBER = Long.MIN_VALUE;
+    // Больше 18 значащих цифр не помещается в long без переполнения
+    private static final int MAX_DIGITS = 18;
+
+    private final MappedFileReader reader;
+    private int pending;
+
+    AdjacencyMatrixReader(Path path) throws IOException {
+        this.reader = new MappedFileReader(path);
+        this.pending = -2;
+    }
+
+    int readSize() throws IOException {
+        if (peek() == -1) {
+            throw new IllegalArgumentException("Файл пуст");
+        }
+
+        skipBlanks();
+        long value = readNumber();
+        skipBlanks();
+        if (value == INVALID_NUMBER || !isLineEnd(peek())) {
+            throw new IllegalArgumentException("Ошибка при чтении числа из файла");
+        }
+        // n строк по n чисел через пробел занимают не меньше n * (2n - 1) байт;
+        // размер из повреждённого заголовка отсекается до выделения памяти под строки.
+        // Сообщение то же, что у проверки диапазона в FileManager
+        if (value > 0 && value * (2 * value - 1) > reader.size()) {
+            throw new IllegalArgumentException("Неверный размер матрицы: " + value);
+        }
+        skipLineEnd();
+
+        return (int) value;
+    }
+
+    void readRow(int rowIndex, int[] row) throws IOException {
+        if (peek() == -1) {
+            throw new IllegalArgumentException("Недостаточно строк в файле");
+        }
+
+        int n = row.length;
+        int count = 0;
+        int error = NO_ERROR;
+
+        skipBlanks();
+        while (!isLineEnd(peek())) {
+            long value = readNumber();
+            if (count < n && error == NO_ERROR) {
+                if (value == INVALID_NUMBER) {
+                    error = NUMBER_ERROR;
+                } else if (value != 0 && value != 1) {
+                    error = VALUE_ERROR;
+                } else {
+                    row[count] = (int) value;
+                }
+            }
+            count++;
+            skipBlanks();
+        }
+        skipLineEnd();
+
+        if (count != n) {
+            throw new IllegalArgumentException("Строка " + (rowIndex + 1) + " имеет неверное количество элементов");
+        }
+        if (error == NUMBER_ERROR) {
+            throw new IllegalArgumentException("Ошибка при чтении числа из файла");
+        }
+        if (error == VALUE_ERROR) {
+            throw new IllegalArgumentException("Элемент должен быть 0 или 1");
+        }
+    }
+
+    void readWeightedRow(int rowIndex, double[] row) throws IOException {
+        if (peek() == -1) {
+            throw new IllegalArgumentException("Недостаточно строк в файле");
+        }
+
+        int n = row.length;
+        int count = 0;
+        int error = NO_ERROR;
+
+        skipBlanks();
+        while (!isLineEnd(peek())) {
+            double value = readDecimal();
+            if (count < n && error == NO_ERROR) {
+                if (Double.isNaN(value)) {
+                    error = NUMBER_ERROR;
+                } else {
+                    row[count] = value;
+                }
+            }
+            count++;
+            skipBlanks();
+        }
+        skipLineEnd();
+
+        if (count != n) {
+            throw new IllegalArgumentException("Строка " + (rowIndex + 1) + " имеет неверное количество элементов");
+        }
+        if (error == NUMBER_ERROR) {
+            throw new IllegalArgumentException("Вес ребра должен быть неотрицательным числом");
+        }
+    }
+
+    // Неотрицательное число вида 12 или 12.5; NaN, если токен не является таким числом
+    private double readDecimal() throws IOException {
+        int c = peek();
+        boolean valid = c >= '0' && c <= '9';
+        boolean fraction = false;
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+
+        while (!isBlank(c) && !isLineEnd(c)) {
+            if (c >= '0' && c <= '9') {
+                if (mantissa != 0 || c != '0') {
+                    digits++;
+                }
+                if (digits <= MAX_DIGITS) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (fraction) {
+                        scale++;
+                    }
+                } else if (!fraction) {
+                    // Лишние цифры целой части сохраняют порядок числа
+                    scale--;
+                }
+            } else if (c == '.' && !fraction) {
+                fraction = true;
+                next();
+                c = peek();
+                // После точки должна быть хотя бы одна цифра
+                valid = valid && c >= '0' && c <= '9';
+                continue;
+            } else {
+                valid = false;
+            }
+            next();
+            c = peek();
+        }
+
+        if (!valid) {
+            return Double.NaN;
+        }
+        return scale >= 0 ? mantissa / Math.pow(10, scale) : mantissa * Math.pow(10, -scale);
+    }
+
+    // Возвращает значение токена или INVALID_NUMBER, если токен не является числом int
+    private long readNumber() throws IOException {
+        int c = peek();
+        boolean negative = false;
+        if (c == '+' || c == '-') {
+            negative = c == '-';
+            next();
+            c = peek();
+        }
+
+        boolean valid = c >= '0' && c <= '9';
+        long value = 0;
+        while (!isBlank(c) && !isLineEnd(c)) {
+            if (c >= '0' && c <= '9' && valid) {
+                value = value * 10 + (c - '0');
+                if (value > (long) Integer.MAX_VALUE + 1) {
+                    valid = false;
+                }
+            } else {
+                valid = false;
+            }
+            next();
+            c = peek();
+        }
+
+        if (!valid || (!negative && value > Integer.MAX_VALUE)) {
+            return INVALID_NUMBER;
+        }
+        return negative ? -value : value;
+    }
+
+    private void skipBlanks() throws IOException {
+        while (isBlank(peek())) {
+            next();
+        }
+    }
+
+    private void skipLineEnd() throws IOException {
+        int c = peek();
+        if (c == '\r') {
+            next();
+            c = peek();
+        }
+        if (c == '\n') {
+            next();
+        }
+    }
+
+    private static boolean isBlank(int c) {
+        return c == ' ' || c == '\t' || c == '\f' || c == 0x0B;
+    }
+
+    private static boolean isLineEnd(int c) {
+        return c == '\n' || c == '\r' || c == -1;
+    }
+
+    private int peek() throws IOException {
+        if (pending == -2) {
+            pending = reader.read();
+        }
+        return pending;
+    }
+
+    private void next() throws IOException {
+        peek();
+        pending = -2;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,229 @@
+package io;
+
+import data_structures.EdgeNode;
+import data_structures.GraphDescriptor;
+import data_structures.GraphNode;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Компактный двоичный формат графа.
+ * Заголовок: сигнатура "GADJ", версия, флаги (с версии 2), число вершин.
+ * Далее для каждой вершины в порядке списка: разность id с предыдущей вершиной,
+ * длина метки + 1 (0 — метки нет) и её байты UTF-8, степень и разности id соседей.
+ * Если установлен флаг WEIGHTED, за каждым соседом следует вес ребра — 8 байт
+ * double; граф, где все веса равны 1, пишется без них.
+ * Все числа — varint, разности — zigzag. В конце CRC32 всех предыдущих байтов.
+ */
+public class BinaryGraphFile {
+
+    private static final byte[] MAGIC = {'G', 'A', 'D', 'J'};
+    private static final int VERSION = 2;
+    // Версия 1 не содержит байта флагов и весов
+    private static final int UNWEIGHTED_VERSION = 1;
+    private static final int WEIGHTED = 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final long CHECKSUM_WINDOW = 64L * 1024 * 1024;
+
+    public static void save(GraphDescriptor graph, String filename) throws IOException {
+        if (graph == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
+        }
+        FileManager.validateFilename(filename);
+
+        CRC32 checksum = new CRC32();
+        try (OutputStream file = Files.newOutputStream(Path.of(filename));
+             BufferedOutputStream out = new BufferedOutputStream(new CheckedOutputStream(file, checksum), BUFFER_SIZE)) {
+            boolean weighted = hasWeights(graph);
+            out.write(MAGIC);
+            out.write(VERSION);
+            out.write(weighted ? WEIGHTED : 0);
+            writeVarint(out, graph.getVertexCount());
+
+            int previousId = 0;
+            for (GraphNode node = graph.getFirstNode(); node != null; node = node.getNextDataNode()) {
+                writeVarint(out, zigzag(node.getId() - previousId));
+                previousId = node.getId();
+
+                if (graph.getLabels().hasExplicitLabel(node.getId())) {
+                    byte[] label = graph.labelOf(node).getBytes(StandardCharsets.UTF_8);
+                    writeVarint(out, label.length + 1);
+                    out.write(label);
+                } else {
+                    writeVarint(out, 0);
+                }
+
+                int degree = 0;
+                for (EdgeNode edge = node.getFirstEdge(); edge != null; edge = edge.getNextEdge()) {
+                    degree++;
+                }
+                writeVarint(out, degree);
+
+                int previousTarget = 0;
+                for (EdgeNode edge = node.getFirstEdge(); edge != null; edge = edge.getNextEdge()) {
+                    int target = edge.getTargetNode().getId();
+                    writeVarint(out, zigzag(target - previousTarget));
+                    previousTarget = target;
+                    if (weighted) {
+                        writeDouble(out, edge.getWeight());
+                    }
+                }
+            }
+
+            out.flush();
+            long crc = checksum.getValue();
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                out.write((int) (crc >>> shift) & 0xFF);
+            }
+        }
+    }
+
+    public static GraphDescriptor load(String filename) throws IOException {
+        FileManager.validateFilename(filename);
+        Path path = Path.of(filename);
+
+        try {
+            verifyChecksum(path);
+
+            try (MappedFileReader reader = new MappedFileReader(path)) {
+                for (byte b : MAGIC) {
+                    if (reader.read() != b) {
+                        throw new IllegalArgumentException("Неверный формат файла графа");
+                    }
+                }
+                int version = reader.read();
+                if (version != VERSION && version != UNWEIGHTED_VERSION) {
+                    throw new IllegalArgumentException("Неподдерживаемая версия файла графа");
+                }
+                int flags = version == VERSION ? readByte(reader) : 0;
+                if ((flags & ~WEIGHTED) != 0) {
+                    throw new IllegalArgumentException("Неверный формат файла графа");
+                }
+                boolean weighted = (flags & WEIGHTED) != 0;
+
+                int vertexCount = readVarint(reader);
+                GraphBuilder builder = new GraphBuilder();
+
+                int previousId = 0;
+                for (int i = 0; i < vertexCount; i++) {
+                    previousId += unzigzag(readVarint(reader));
+
+                    String label = null;
+                    int labelLength = readVarint(reader);
+                    if (labelLength > 0) {
+                        byte[] bytes = new byte[labelLength - 1];
+                        for (int j = 0; j < bytes.length; j++) {
+                            bytes[j] = (byte) readByte(reader);
+                        }
+                        label = new String(bytes, StandardCharsets.UTF_8);
+                    }
+                    builder.addVertex(previousId, label);
+
+                    int degree = readVarint(reader);
+                    int previousTarget = 0;
+                    for (int j = 0; j < degree; j++) {
+                        previousTarget += unzigzag(readVarint(reader));
+                        builder.addEdge(previousId, previousTarget, weighted ? readDouble(reader) : 1.0);
+                    }
+                }
+
+                return builder.build();
+            }
+
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException("Файл не найден: " + filename);
+        }
+    }
+
+    private static void verifyChecksum(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < MAGIC.length + 5) {
+                throw new IllegalArgumentException("Неверный формат файла графа");
+            }
+
+            CRC32 checksum = new CRC32();
+            long dataSize = size - 4;
+            for (long position = 0; position < dataSize; position += CHECKSUM_WINDOW) {
+                long length = Math.min(CHECKSUM_WINDOW, dataSize - position);
+                checksum.update(channel.map(FileChannel.MapMode.READ_ONLY, position, length));
+            }
+
+            MappedByteBuffer trailer = channel.map(FileChannel.MapMode.READ_ONLY, dataSize, 4);
+            if ((trailer.getInt() & 0xFFFFFFFFL) != checksum.getValue()) {
+                throw new IllegalArgumentException("Контрольная сумма файла графа не совпадает");
+            }
+        }
+    }
+
+    private static boolean hasWeights(GraphDescriptor graph) {
+        for (GraphNode node = graph.getFirstNode(); node != null; node = node.getNextDataNode()) {
+            for (EdgeNode edge = node.getFirstEdge(); edge != null; edge = edge.getNextEdge()) {
+                if (edge.getWeight() != 1.0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void writeDouble(OutputStream out, double value) throws IOException {
+        long bits = Double.doubleToLongBits(value);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (bits >>> shift) & 0xFF);
+        }
+    }
+
+    private static double readDouble(MappedFileReader reader) throws IOException {
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits = (bits << 8) | readByte(reader);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    private static void writeVarint(OutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(MappedFileReader reader) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = readByte(reader);
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Неверный формат файла графа");
+    }
+
+    private static int readByte(MappedFileReader reader) throws IOException {
+        int b = reader.read();
+        if (b == -1) {
+            throw new IllegalArgumentException("Неожиданный конец файла графа");
+        }
+        return b;
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,110 @@
+package io;
+
+import data_structures.GraphDescriptor;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+/**
+ * Текстовый формат списка рёбер.
+ * Строка "src dst [вес]" задаёт ребро (без веса — вес 1), строка "v id [метка]" объявляет вершину,
+ * строки с '#' в начале и пустые строки пропускаются.
+ * Вершины из рёбер, не объявленные заранее, создаются автоматически.
+ */
+public class EdgeListFile {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    public static void save(GraphDescriptor graph, String filename) throws IOException {
+        GraphExporter.export(graph, ExportFormat.EDGE_LIST, filename);
+    }
+
+    public static GraphDescriptor load(String filename) throws IOException {
+        FileManager.validateFilename(filename);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                Files.newInputStream(Path.of(filename)), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            GraphBuilder builder = new GraphBuilder();
+            String line;
+            int lineNumber = 0;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                int start = skipBlanks(line, 0);
+                if (start == line.length() || line.charAt(start) == '#') {
+                    continue;
+                }
+
+                if (line.charAt(start) == 'v') {
+                    int idStart = skipBlanks(line, start + 1);
+                    int idEnd = tokenEnd(line, idStart);
+                    int labelStart = skipBlanks(line, idEnd);
+                    String label = labelStart < line.length() ? line.substring(labelStart).trim() : null;
+                    builder.addVertex(parseId(line, idStart, idEnd, lineNumber), label);
+                    continue;
+                }
+
+                int sourceEnd = tokenEnd(line, start);
+                int targetStart = skipBlanks(line, sourceEnd);
+                int targetEnd = tokenEnd(line, targetStart);
+                int weightStart = skipBlanks(line, targetEnd);
+                int weightEnd = tokenEnd(line, weightStart);
+                if (skipBlanks(line, weightEnd) != line.length()) {
+                    throw new IllegalArgumentException("Строка " + lineNumber + " имеет неверное количество элементов");
+                }
+
+                int sourceId = parseId(line, start, sourceEnd, lineNumber);
+                int targetId = parseId(line, targetStart, targetEnd, lineNumber);
+                double weight = weightStart == weightEnd ? 1.0 : parseWeight(line, weightStart, weightEnd);
+                builder.ensureVertex(sourceId);
+                builder.ensureVertex(targetId);
+                builder.addEdge(sourceId, targetId, weight);
+            }
+
+            return builder.build();
+
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException("Файл не найден: " + filename);
+        }
+    }
+
+    private static int parseId(String line, int start, int end, int lineNumber) {
+        if (start == end) {
+            throw new IllegalArgumentException("Строка " + lineNumber + " имеет неверное количество элементов");
+        }
+        try {
+            int id = Integer.parseInt(line, start, end, 10);
+            if (id < 0) {
+                throw new IllegalArgumentException("Неверный идентификатор вершины: " + id);
+            }
+            return id;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Ошибка при чтении числа из файла");
+        }
+    }
+
+    private static double parseWeight(String line, int start, int end) {
+        try {
+            return Double.parseDouble(line.substring(start, end));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Ошибка при чтении числа из файла");
+        }
+    }
+
+    private static int skipBlanks(String line, int position) {
+        while (position < line.length() && Character.isWhitespace(line.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    private static int tokenEnd(String line, int position) {
+        while (position < line.length() && !Character.isWhitespace(line.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+}
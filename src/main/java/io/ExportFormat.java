@@ -0,0 +1,13 @@
+package io;
+
+public enum ExportFormat {
+    // "A -> B, C" — тот же вид, что и у printGraph
+    ADJACENCY,
+    // "v id [метка]" и "src dst [вес]" — формат EdgeListFile
+    EDGE_LIST,
+    // Описание ориентированного графа для Graphviz
+    DOT,
+    // Один JSON-объект на вершину: {"id":0,"label":"A","edges":[1,2]},
+    // для вершин с весами рёбер, отличными от 1, — ещё "weights":[0.5,1.0]
+    JSON_LINES
+}
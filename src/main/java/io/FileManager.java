@@ -1,55 +1,191 @@
 package io;
 
+import data_structures.BitMatrix;
+import data_structures.Graph;
+import data_structures.GraphDescriptor;
+import metrics.GraphMetrics;
+import metrics.Operation;
+import operations.GraphOperations;
+
 import java.io.*;
-import java.util.Scanner;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
 
 public class FileManager {
 
-    public static int[][] loadAdjacencyMatrix(String filename) throws FileNotFoundException {
-        if (filename == null || filename.trim().isEmpty()) {
-            throw new IllegalArgumentException("Имя файла не может быть пустым");
+    public static final int MAX_DENSE_MATRIX_SIZE = 16_384;
+    // 65536 x 65536 бит — 512 МБ
+    public static final int MAX_BIT_MATRIX_SIZE = 65_536;
+
+    public static int[][] loadAdjacencyMatrix(String filename) throws IOException {
+        validateFilename(filename);
+
+        long started = GraphMetrics.start();
+        try (AdjacencyMatrixReader reader = new AdjacencyMatrixReader(Path.of(filename))) {
+            int n = reader.readSize();
+
+            if (n <= 0 || n > MAX_DENSE_MATRIX_SIZE) {
+                throw new IllegalArgumentException("Неверный размер матрицы: " + n);
+            }
+
+            int[][] matrix = new int[n][n];
+
+            for (int i = 0; i < n; i++) {
+                reader.readRow(i, matrix[i]);
+            }
+
+            GraphMetrics.record(Operation.LOAD_ADJACENCY_MATRIX, started, n, -1);
+            return matrix;
+
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException("Файл не найден: " + filename);
         }
+    }
+
+    // Упакованная загрузка: одна клетка — один бит, в 32 раза меньше int[n][n]
+    public static BitMatrix loadBitMatrix(String filename) throws IOException {
+        validateFilename(filename);
+
+        try (AdjacencyMatrixReader reader = new AdjacencyMatrixReader(Path.of(filename))) {
+            int n = reader.readSize();
 
-        try (Scanner scanner = new Scanner(new File(filename))) {
-            if (!scanner.hasNextLine()) {
-                throw new IllegalArgumentException("Файл пуст");
+            if (n <= 0 || n > MAX_BIT_MATRIX_SIZE) {
+                throw new IllegalArgumentException("Неверный размер матрицы: " + n);
+            }
+
+            BitMatrix matrix = new BitMatrix(n);
+            int[] row = new int[n];
+
+            for (int i = 0; i < n; i++) {
+                reader.readRow(i, row);
+                for (int j = 0; j < n; j++) {
+                    if (row[j] == 1) {
+                        matrix.set(i, j);
+                    }
+                }
             }
 
-            int n = Integer.parseInt(scanner.nextLine().trim());
+            return matrix;
 
-            if (n <= 0 || n > 1000) {
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException("Файл не найден: " + filename);
+        }
+    }
+
+    // Потоковая загрузка: строки матрицы сразу превращаются в списки смежности,
+    // плотная матрица n x n в памяти не создаётся
+    public static GraphDescriptor loadGraph(String filename) throws IOException {
+        validateFilename(filename);
+
+        try (AdjacencyMatrixReader reader = new AdjacencyMatrixReader(Path.of(filename))) {
+            int n = reader.readSize();
+
+            if (n <= 0) {
                 throw new IllegalArgumentException("Неверный размер матрицы: " + n);
             }
 
-            int[][] matrix = new int[n][n];
+            GraphDescriptor graph = GraphOperations.createGraph(n);
+            int[] row = new int[n];
+            int[] targets = new int[n];
 
             for (int i = 0; i < n; i++) {
-                if (!scanner.hasNextLine()) {
-                    throw new IllegalArgumentException("Недостаточно строк в файле");
+                reader.readRow(i, row);
+
+                int count = 0;
+                for (int j = 0; j < n; j++) {
+                    if (row[j] == 1) {
+                        targets[count++] = j;
+                    }
                 }
+                GraphOperations.appendEdges(graph, i, targets, count);
+            }
+
+            return graph;
+
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException("Файл не найден: " + filename);
+        }
+    }
+
+    // Взвешенная матрица: ненулевая клетка — ребро с этим весом
+    public static GraphDescriptor loadWeightedGraph(String filename) throws IOException {
+        validateFilename(filename);
+
+        try (AdjacencyMatrixReader reader = new AdjacencyMatrixReader(Path.of(filename))) {
+            int n = reader.readSize();
+
+            if (n <= 0) {
+                throw new IllegalArgumentException("Неверный размер матрицы: " + n);
+            }
+
+            GraphDescriptor graph = GraphOperations.createGraph(n);
+            double[] row = new double[n];
+            int[] targets = new int[n];
+            double[] weights = new double[n];
 
-                String line = scanner.nextLine().trim();
-                String[] elements = line.split("\\s+");
+            for (int i = 0; i < n; i++) {
+                reader.readWeightedRow(i, row);
 
-                if (elements.length != n) {
-                    throw new IllegalArgumentException("Строка " + (i + 1) + " имеет неверное количество элементов");
+                int count = 0;
+                for (int j = 0; j < n; j++) {
+                    if (row[j] != 0) {
+                        targets[count] = j;
+                        weights[count++] = row[j];
+                    }
                 }
+                GraphOperations.appendEdges(graph, i, targets, weights, 0, count);
+            }
+
+            return graph;
 
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException("Файл не найден: " + filename);
+        }
+    }
+
+    // Потоковая загрузка в произвольное хранилище графа
+    public static <G extends Graph> G loadGraph(String filename, G target) throws IOException {
+        validateFilename(filename);
+        if (target == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
+        }
+
+        try (AdjacencyMatrixReader reader = new AdjacencyMatrixReader(Path.of(filename))) {
+            int n = reader.readSize();
+
+            if (n <= 0) {
+                throw new IllegalArgumentException("Неверный размер матрицы: " + n);
+            }
+
+            for (int i = 0; i < n; i++) {
+                target.addVertex(i);
+            }
+
+            int[] row = new int[n];
+            int[] targets = new int[n];
+
+            for (int i = 0; i < n; i++) {
+                reader.readRow(i, row);
+
+                int count = 0;
                 for (int j = 0; j < n; j++) {
-                    int value = Integer.parseInt(elements[j]);
-                    if (value != 0 && value != 1) {
-                        throw new IllegalArgumentException("Элемент должен быть 0 или 1");
+                    if (row[j] == 1) {
+                        targets[count++] = j;
                     }
-                    matrix[i][j] = value;
                 }
+                target.appendEdges(i, targets, 0, count);
             }
 
-            return matrix;
+            return target;
 
-        } catch (FileNotFoundException e) {
+        } catch (NoSuchFileException e) {
             throw new FileNotFoundException("Файл не найден: " + filename);
-        } catch (NumberFormatException e) {
-            throw new IllegalArgumentException("Ошибка при чтении числа из файла");
+        }
+    }
+
+    static void validateFilename(String filename) {
+        if (filename == null || filename.trim().isEmpty()) {
+            throw new IllegalArgumentException("Имя файла не может быть пустым");
         }
     }
 }
@@ -0,0 +1,99 @@
+package io;
+
+import data_structures.GraphDescriptor;
+import operations.GraphOperations;
+
+import java.util.Arrays;
+
+/**
+ * Собирает граф из последовательности вершин и рёбер, прочитанных из файла.
+ * Рёбра копятся в массивах и добавляются одним проходом по каждой вершине,
+ * порядок рёбер внутри списка смежности сохраняется. Массив весов
+ * создаётся при первом ребре с весом, отличным от 1.
+ */
+class GraphBuilder {
+    private final GraphDescriptor graph;
+    private int[] sources;
+    private int[] targets;
+    private double[] weights;
+    private int edgeCount;
+
+    GraphBuilder() {
+        this.graph = new GraphDescriptor();
+        this.sources = new int[16];
+        this.targets = new int[16];
+        this.weights = null;
+        this.edgeCount = 0;
+    }
+
+    void addVertex(int vertexId, String label) {
+        if (graph.containsVertex(vertexId)) {
+            throw new IllegalArgumentException("Вершина " + graph.labelOf(vertexId) + " уже существует");
+        }
+        GraphOperations.addVertex(graph, vertexId, null);
+        if (label != null) {
+            graph.getLabels().put(vertexId, label);
+        }
+    }
+
+    void ensureVertex(int vertexId) {
+        if (!graph.containsVertex(vertexId)) {
+            GraphOperations.addVertex(graph, vertexId, null);
+        }
+    }
+
+    void addEdge(int sourceId, int targetId) {
+        addEdge(sourceId, targetId, 1.0);
+    }
+
+    void addEdge(int sourceId, int targetId, double weight) {
+        if (edgeCount == sources.length) {
+            sources = Arrays.copyOf(sources, edgeCount * 2);
+            targets = Arrays.copyOf(targets, edgeCount * 2);
+            if (weights != null) {
+                weights = Arrays.copyOf(weights, edgeCount * 2);
+            }
+        }
+        if (weights == null && weight != 1.0) {
+            weights = new double[sources.length];
+            Arrays.fill(weights, 0, edgeCount, 1.0);
+        }
+        sources[edgeCount] = sourceId;
+        targets[edgeCount] = targetId;
+        if (weights != null) {
+            weights[edgeCount] = weight;
+        }
+        edgeCount++;
+    }
+
+    GraphDescriptor build() {
+        int idBound = graph.getIdBound();
+        int[] offsets = new int[idBound + 1];
+        for (int i = 0; i < edgeCount; i++) {
+            offsets[sources[i] + 1]++;
+        }
+        for (int i = 0; i < idBound; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        int[] grouped = new int[edgeCount];
+        double[] groupedWeights = weights == null ? null : new double[edgeCount];
+        int[] positions = Arrays.copyOf(offsets, idBound);
+        for (int i = 0; i < edgeCount; i++) {
+            int position = positions[sources[i]]++;
+            grouped[position] = targets[i];
+            if (weights != null) {
+                groupedWeights[position] = weights[i];
+            }
+        }
+
+        for (int v = 0; v < idBound; v++) {
+            int count = offsets[v + 1] - offsets[v];
+            if (count > 0) {
+                GraphOperations.appendEdges(graph, v, grouped, groupedWeights, offsets[v], count);
+            }
+        }
+
+        return graph;
+    }
+}
@@ -0,0 +1,224 @@
+package io;
+
+import data_structures.EdgeNode;
+import data_structures.GraphDescriptor;
+import data_structures.GraphNode;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Потоковая выгрузка графа в текстовых форматах.
+ * Граф обходится по спискам смежности и пишется через буфер,
+ * поэтому память не зависит от размера графа.
+ */
+public class GraphExporter {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    public static void export(GraphDescriptor graph, ExportFormat format, String filename) throws IOException {
+        validateArguments(graph, format);
+        FileManager.validateFilename(filename);
+        try (OutputStream out = Files.newOutputStream(Path.of(filename))) {
+            export(graph, format, out);
+        }
+    }
+
+    // Поток не закрывается, только сбрасывается буфер
+    public static void export(GraphDescriptor graph, ExportFormat format, OutputStream out) throws IOException {
+        if (out == null) {
+            throw new IllegalArgumentException("Поток вывода не может быть null");
+        }
+        export(graph, format, new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    public static void export(GraphDescriptor graph, ExportFormat format, WritableByteChannel channel) throws IOException {
+        if (channel == null) {
+            throw new IllegalArgumentException("Канал не может быть null");
+        }
+        export(graph, format, Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE));
+    }
+
+    public static void export(GraphDescriptor graph, ExportFormat format, Writer writer) throws IOException {
+        validateArguments(graph, format);
+        if (writer == null) {
+            throw new IllegalArgumentException("Поток вывода не может быть null");
+        }
+
+        BufferedWriter out = writer instanceof BufferedWriter
+                ? (BufferedWriter) writer
+                : new BufferedWriter(writer, BUFFER_SIZE);
+
+        switch (format) {
+            case ADJACENCY:
+                writeAdjacency(graph, out);
+                break;
+            case EDGE_LIST:
+                writeEdgeList(graph, out);
+                break;
+            case DOT:
+                writeDot(graph, out);
+                break;
+            case JSON_LINES:
+                writeJsonLines(graph, out);
+                break;
+        }
+        out.flush();
+    }
+
+    private static void validateArguments(GraphDescriptor graph, ExportFormat format) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
+        }
+        if (format == null) {
+            throw new IllegalArgumentException("Формат не может быть null");
+        }
+    }
+
+    private static void writeAdjacency(GraphDescriptor graph, Writer out) throws IOException {
+        for (GraphNode node = graph.getFirstNode(); node != null; node = node.getNextDataNode()) {
+            out.write(graph.labelOf(node));
+
+            EdgeNode edge = node.getFirstEdge();
+            if (edge == null) {
+                out.write(" -> нет связей\n");
+                continue;
+            }
+
+            out.write(" -> ");
+            while (edge != null) {
+                out.write(graph.labelOf(edge.getTargetNode()));
+                edge = edge.getNextEdge();
+                if (edge != null) {
+                    out.write(", ");
+                }
+            }
+            out.write('\n');
+        }
+    }
+
+    private static void writeEdgeList(GraphDescriptor graph, Writer out) throws IOException {
+        out.write("# vertices " + graph.getVertexCount() + "\n");
+
+        for (GraphNode node = graph.getFirstNode(); node != null; node = node.getNextDataNode()) {
+            out.write("v ");
+            out.write(Integer.toString(node.getId()));
+            if (graph.getLabels().hasExplicitLabel(node.getId())) {
+                out.write(' ');
+                out.write(graph.labelOf(node));
+            }
+            out.write('\n');
+        }
+
+        for (GraphNode node = graph.getFirstNode(); node != null; node = node.getNextDataNode()) {
+            String source = Integer.toString(node.getId());
+            for (EdgeNode edge = node.getFirstEdge(); edge != null; edge = edge.getNextEdge()) {
+                out.write(source);
+                out.write(' ');
+                out.write(Integer.toString(edge.getTargetNode().getId()));
+                // Вес 1 не пишется; Double.toString восстанавливается без потерь
+                if (edge.getWeight() != 1.0) {
+                    out.write(' ');
+                    out.write(Double.toString(edge.getWeight()));
+                }
+                out.write('\n');
+            }
+        }
+    }
+
+    private static void writeDot(GraphDescriptor graph, Writer out) throws IOException {
+        out.write("digraph G {\n");
+
+        // Вершины перечисляются отдельно, чтобы не потерять изолированные
+        for (GraphNode node = graph.getFirstNode(); node != null; node = node.getNextDataNode()) {
+            out.write("  ");
+            writeQuoted(out, graph.labelOf(node));
+            out.write(";\n");
+        }
+
+        for (GraphNode node = graph.getFirstNode(); node != null; node = node.getNextDataNode()) {
+            String source = graph.labelOf(node);
+            for (EdgeNode edge = node.getFirstEdge(); edge != null; edge = edge.getNextEdge()) {
+                out.write("  ");
+                writeQuoted(out, source);
+                out.write(" -> ");
+                writeQuoted(out, graph.labelOf(edge.getTargetNode()));
+                if (edge.getWeight() != 1.0) {
+                    out.write(" [weight=" + edge.getWeight() + "]");
+                }
+                out.write(";\n");
+            }
+        }
+
+        out.write("}\n");
+    }
+
+    private static void writeJsonLines(GraphDescriptor graph, Writer out) throws IOException {
+        for (GraphNode node = graph.getFirstNode(); node != null; node = node.getNextDataNode()) {
+            out.write("{\"id\":");
+            out.write(Integer.toString(node.getId()));
+            out.write(",\"label\":");
+            writeQuoted(out, graph.labelOf(node));
+            out.write(",\"edges\":[");
+
+            boolean weighted = false;
+            for (EdgeNode edge = node.getFirstEdge(); edge != null; edge = edge.getNextEdge()) {
+                out.write(Integer.toString(edge.getTargetNode().getId()));
+                weighted |= edge.getWeight() != 1.0;
+                if (edge.getNextEdge() != null) {
+                    out.write(',');
+                }
+            }
+            out.write(']');
+
+            // Веса пишутся, только если у вершины есть ребро с весом, отличным от 1
+            if (weighted) {
+                out.write(",\"weights\":[");
+                for (EdgeNode edge = node.getFirstEdge(); edge != null; edge = edge.getNextEdge()) {
+                    out.write(Double.toString(edge.getWeight()));
+                    if (edge.getNextEdge() != null) {
+                        out.write(',');
+                    }
+                }
+                out.write(']');
+            }
+            out.write("}\n");
+        }
+    }
+
+    // Строка в кавычках с экранированием; правила совпадают для DOT и JSON
+    private static void writeQuoted(Writer out, String value) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.write("\\\"");
+                    break;
+                case '\\':
+                    out.write("\\\\");
+                    break;
+                case '\n':
+                    out.write("\\n");
+                    break;
+                case '\r':
+                    out.write("\\r");
+                    break;
+                case '\t':
+                    out.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+            }
+        }
+        out.write('"');
+    }
+}
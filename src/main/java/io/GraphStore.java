@@ -0,0 +1,306 @@
+package io;
+
+import data_structures.GraphDescriptor;
+import operations.GraphOperations;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Хранилище графа: снимок snapshot-N.bin в формате BinaryGraphFile
+ * и журнал log-N.wal изменений после него.
+ * При открытии загружается последний снимок и применяется хвост журнала.
+ * Когда журнал перерастает снимок, создаётся новый снимок (контрольная точка)
+ * и журнал начинается заново, поэтому время восстановления ограничено размером графа.
+ */
+public class GraphStore implements Closeable {
+
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final String LOG_PREFIX = "log-";
+    private static final String LOG_SUFFIX = ".wal";
+    private static final long MIN_CHECKPOINT_LOG_SIZE = 1L << 20;
+
+    private final Path directory;
+    private final GraphDescriptor graph;
+    private final UnaryOperator<FileChannel> channels;
+    private long generation;
+    private long snapshotSize;
+    private MutationLog log;
+
+    private GraphStore(Path directory, GraphDescriptor graph, long generation, UnaryOperator<FileChannel> channels) {
+        this.directory = directory;
+        this.graph = graph;
+        this.channels = channels;
+        this.generation = generation;
+        this.snapshotSize = 0;
+        this.log = null;
+    }
+
+    public static boolean exists(String directory) throws IOException {
+        return latestGeneration(Path.of(directory)) > 0;
+    }
+
+    // Открывает существующее хранилище; если снимков нет, начальным
+    // состоянием становится initialGraph (или пустой граф)
+    public static GraphStore open(String directory, GraphDescriptor initialGraph) throws IOException {
+        return open(directory, initialGraph, UnaryOperator.identity());
+    }
+
+    // channels оборачивает каналы журналов; в тестах через него имитируются ошибки записи
+    static GraphStore open(String directory, GraphDescriptor initialGraph, UnaryOperator<FileChannel> channels)
+            throws IOException {
+        if (directory == null || directory.trim().isEmpty()) {
+            throw new IllegalArgumentException("Каталог хранилища не может быть пустым");
+        }
+        Path path = Path.of(directory);
+        Files.createDirectories(path);
+
+        long generation = latestGeneration(path);
+        if (generation == 0) {
+            GraphStore store = new GraphStore(path, initialGraph != null ? initialGraph : new GraphDescriptor(), 0,
+                    channels);
+            store.checkpoint();
+            return store;
+        }
+
+        Path snapshot = path.resolve(SNAPSHOT_PREFIX + generation + SNAPSHOT_SUFFIX);
+        GraphStore store = new GraphStore(path, BinaryGraphFile.load(snapshot.toString()), generation, channels);
+        store.snapshotSize = Files.size(snapshot);
+        store.log = MutationLog.open(store.logPath(generation), store.graph, channels);
+        store.deleteOlderGenerations();
+        return store;
+    }
+
+    public GraphDescriptor getGraph() {
+        return graph;
+    }
+
+    // Журнал упреждающей записи: изменение проверяется, записывается в журнал
+    // и только затем применяется к графу — всё под блокировкой хранилища.
+    // force журнала выполняется уже без неё, поэтому записи разных потоков,
+    // ожидающих sync, сбрасываются на диск одной группой.
+    // Метод возвращается, когда запись изменения на диске
+    public int addVertex(String label, int[] connectedVertices) throws IOException {
+        MutationLog target;
+        long sequence;
+        int vertexId;
+        synchronized (this) {
+            if (label == null || label.isEmpty()) {
+                throw new IllegalArgumentException("Метка вершины не может быть пустой");
+            }
+            if (graph.findIdByLabel(label) >= 0) {
+                throw new IllegalArgumentException("Вершина " + label + " уже существует");
+            }
+            vertexId = graph.getIdBound();
+            target = log;
+            sequence = log.appendAddVertex(vertexId, label, connectedVertices);
+            GraphOperations.addVertex(graph, label, connectedVertices);
+        }
+        commit(target, sequence);
+        return vertexId;
+    }
+
+    public void addVertex(int vertexId, int[] connectedVertices) throws IOException {
+        write(() -> {
+                    if (vertexId < 0) {
+                        throw new IllegalArgumentException("Неверный идентификатор вершины: " + vertexId);
+                    }
+                    if (graph.containsVertex(vertexId)) {
+                        throw new IllegalArgumentException("Вершина " + graph.labelOf(vertexId) + " уже существует");
+                    }
+                },
+                log -> log.appendAddVertex(vertexId, null, connectedVertices),
+                () -> GraphOperations.addVertex(graph, vertexId, connectedVertices));
+    }
+
+    public void addEdge(int sourceId, int targetId) throws IOException {
+        write(() -> requireEdge(sourceId, targetId, false),
+                log -> log.appendAddEdge(sourceId, targetId),
+                () -> GraphOperations.addEdge(graph, sourceId, targetId));
+    }
+
+    public void addEdge(int sourceId, int targetId, double weight) throws IOException {
+        write(() -> {
+                    GraphOperations.validateWeight(weight);
+                    requireEdge(sourceId, targetId, false);
+                },
+                log -> log.appendAddEdge(sourceId, targetId, weight),
+                () -> GraphOperations.addEdge(graph, sourceId, targetId, weight));
+    }
+
+    public void setEdgeWeight(int sourceId, int targetId, double weight) throws IOException {
+        write(() -> {
+                    GraphOperations.validateWeight(weight);
+                    requireEdge(sourceId, targetId, true);
+                },
+                log -> log.appendSetWeight(sourceId, targetId, weight),
+                () -> GraphOperations.setEdgeWeight(graph, sourceId, targetId, weight));
+    }
+
+    public void deleteVertex(int vertexId) throws IOException {
+        write(() -> requireVertex(vertexId),
+                log -> log.appendDeleteVertex(vertexId),
+                () -> GraphOperations.deleteVertex(graph, vertexId));
+    }
+
+    public void removeEdge(int sourceId, int targetId) throws IOException {
+        write(() -> requireEdge(sourceId, targetId, true),
+                log -> log.appendRemoveEdge(sourceId, targetId),
+                () -> GraphOperations.removeEdge(graph, sourceId, targetId));
+    }
+
+    public void relabelVertex(int vertexId, String newLabel) throws IOException {
+        write(() -> {
+                    requireVertex(vertexId);
+                    if (newLabel == null || newLabel.isEmpty()) {
+                        throw new IllegalArgumentException("Метка вершины не может быть пустой");
+                    }
+                    int owner = graph.findIdByLabel(newLabel);
+                    if (owner >= 0 && owner != vertexId) {
+                        throw new IllegalArgumentException("Вершина " + newLabel + " уже существует");
+                    }
+                },
+                log -> log.appendRelabelVertex(vertexId, newLabel),
+                () -> GraphOperations.relabelVertex(graph, vertexId, newLabel));
+    }
+
+    // Проверки повторяют проверки GraphOperations, чтобы в журнал
+    // попадали только изменения, которые затем применятся без ошибок
+    private void requireVertex(int vertexId) {
+        if (!graph.containsVertex(vertexId)) {
+            throw new IllegalArgumentException("Вершина " + graph.labelOf(vertexId) + " не найдена");
+        }
+    }
+
+    private void requireEdge(int sourceId, int targetId, boolean exists) {
+        requireVertex(sourceId);
+        requireVertex(targetId);
+        if (GraphOperations.containsEdge(graph, sourceId, targetId) != exists) {
+            throw new IllegalArgumentException("Ребро " + graph.labelOf(sourceId) + " -> "
+                    + graph.labelOf(targetId) + (exists ? " не найдено" : " уже существует"));
+        }
+    }
+
+    private void write(Runnable validation, LogAppend append, Runnable mutation) throws IOException {
+        MutationLog target;
+        long sequence;
+        synchronized (this) {
+            validation.run();
+            target = log;
+            sequence = append.to(log);
+            mutation.run();
+        }
+        commit(target, sequence);
+    }
+
+    // Журнал мог смениться контрольной точкой, пока поток ждал force:
+    // закрытие старого журнала уже сбросило все его записи
+    private void commit(MutationLog target, long sequence) throws IOException {
+        target.sync(sequence);
+        synchronized (this) {
+            if (log == target && log.size() > Math.max(snapshotSize, MIN_CHECKPOINT_LOG_SIZE)) {
+                checkpoint();
+            }
+        }
+    }
+
+    // Снимок пишется во временный файл и атомарно переименовывается;
+    // до переименования восстановление использует предыдущее поколение
+    public synchronized void checkpoint() throws IOException {
+        if (log != null) {
+            log.sync();
+        }
+
+        long next = generation + 1;
+        Path snapshot = directory.resolve(SNAPSHOT_PREFIX + next + SNAPSHOT_SUFFIX);
+        Path temporary = directory.resolve(SNAPSHOT_PREFIX + next + SNAPSHOT_SUFFIX + ".tmp");
+
+        BinaryGraphFile.save(graph, temporary.toString());
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temporary, snapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        // Журнал нового поколения мог остаться от прерванной контрольной точки
+        Files.deleteIfExists(logPath(next));
+        MutationLog nextLog = MutationLog.open(logPath(next), new GraphDescriptor(), channels);
+        if (log != null) {
+            log.close();
+        }
+        log = nextLog;
+        generation = next;
+        snapshotSize = Files.size(snapshot);
+        deleteOlderGenerations();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (log != null) {
+            MutationLog closing = log;
+            log = null;
+            closing.close();
+        }
+    }
+
+    private Path logPath(long generation) {
+        return directory.resolve(LOG_PREFIX + generation + LOG_SUFFIX);
+    }
+
+    private void deleteOlderGenerations() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                long fileGeneration = generationOf(file.getFileName().toString());
+                if (fileGeneration > 0 && fileGeneration < generation) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private static long latestGeneration(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+
+        long latest = 0;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX)) {
+                    latest = Math.max(latest, generationOf(name));
+                }
+            }
+        }
+        return latest;
+    }
+
+    // Номер поколения из имени снимка или журнала; 0 для посторонних файлов
+    private static long generationOf(String name) {
+        String number;
+        if (name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX)) {
+            number = name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length());
+        } else if (name.startsWith(LOG_PREFIX) && name.endsWith(LOG_SUFFIX)) {
+            number = name.substring(LOG_PREFIX.length(), name.length() - LOG_SUFFIX.length());
+        } else if (name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX + ".tmp")) {
+            number = name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length() - 4);
+        } else {
+            return 0;
+        }
+
+        try {
+            return Long.parseLong(number);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    @FunctionalInterface
+    private interface LogAppend {
+        long to(MutationLog log) throws IOException;
+    }
+}
@@ -0,0 +1,68 @@
+package io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Побайтовое чтение файла через окна MappedByteBuffer.
+ * Файл отображается кусками, поэтому размер не ограничен 2 ГБ.
+ */
+class MappedFileReader implements Closeable {
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private long windowEnd;
+    private MappedByteBuffer window;
+    private final byte[] chunk;
+    private int chunkPosition;
+    private int chunkLimit;
+
+    MappedFileReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.windowEnd = 0;
+        this.window = null;
+        this.chunk = new byte[CHUNK_SIZE];
+        this.chunkPosition = 0;
+        this.chunkLimit = 0;
+    }
+
+    int read() throws IOException {
+        if (chunkPosition == chunkLimit && !fillChunk()) {
+            return -1;
+        }
+        return chunk[chunkPosition++] & 0xFF;
+    }
+
+    // Байты копируются из окна пачками: разбор идёт по byte[], а не по одному вызову get()
+    private boolean fillChunk() throws IOException {
+        if (window == null || !window.hasRemaining()) {
+            if (windowEnd >= size) {
+                return false;
+            }
+            long length = Math.min(WINDOW_SIZE, size - windowEnd);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, windowEnd, length);
+            windowEnd += length;
+        }
+
+        chunkLimit = Math.min(CHUNK_SIZE, window.remaining());
+        window.get(chunk, 0, chunkLimit);
+        chunkPosition = 0;
+        return true;
+    }
+
+    long size() {
+        return size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,400 @@
+package io;
+
+import data_structures.GraphDescriptor;
+import operations.GraphOperations;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.UnaryOperator;
+import java.util.zip.CRC32;
+
+/**
+ * Журнал изменений графа, открытый только на дозапись.
+ * Заголовок: сигнатура "GLOG" и версия. Запись: длина тела, тело
+ * (тип операции и её аргументы) и CRC32 тела, все числа — big-endian int.
+ * Записи копятся в буфере и сбрасываются на диск одним force для всей группы:
+ * поток, вызвавший sync первым, фиксирует и записи остальных потоков.
+ * Оборванная при сбое запись в конце файла отбрасывается при открытии.
+ * После первой ошибки записи журнал перестаёт принимать изменения: неизвестно,
+ * какая часть буфера дошла до диска, поэтому все следующие добавления и sync,
+ * а также потоки, ожидающие sync, получают IOException.
+ */
+public class MutationLog implements Closeable {
+
+    private static final byte[] MAGIC = {'G', 'L', 'O', 'G'};
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = MAGIC.length + 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_RECORD_SIZE = 1 << 26;
+
+    private static final byte ADD_VERTEX = 1;
+    private static final byte ADD_EDGE = 2;
+    private static final byte DELETE_VERTEX = 3;
+    private static final byte REMOVE_EDGE = 4;
+    private static final byte RELABEL_VERTEX = 5;
+    // Ребро с весом, отличным от 1: к аргументам ADD_EDGE добавляется вес (double)
+    private static final byte ADD_WEIGHTED_EDGE = 6;
+    private static final byte SET_WEIGHT = 7;
+
+    private final FileChannel channel;
+    private ByteBuffer pending;
+    private ByteBuffer flushing;
+    private long appendedSequence;
+    private long syncedSequence;
+    private boolean syncing;
+    private long size;
+    private IOException failed;
+
+    private MutationLog(FileChannel channel, long size) {
+        this.channel = channel;
+        this.pending = ByteBuffer.allocate(BUFFER_SIZE);
+        this.flushing = ByteBuffer.allocate(BUFFER_SIZE);
+        this.appendedSequence = 0;
+        this.syncedSequence = 0;
+        this.syncing = false;
+        this.size = size;
+        this.failed = null;
+    }
+
+    // Открывает журнал, применяя к graph все целые записи; хвост после
+    // последней целой записи обрезается, дальнейшая запись идёт с этого места
+    public static MutationLog open(Path path, GraphDescriptor graph) throws IOException {
+        return open(path, graph, UnaryOperator.identity());
+    }
+
+    // channels оборачивает канал файла; в тестах через него имитируются ошибки записи
+    static MutationLog open(Path path, GraphDescriptor graph, UnaryOperator<FileChannel> channels)
+            throws IOException {
+        if (graph == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
+        }
+
+        FileChannel channel = channels.apply(FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE));
+        try {
+            long validSize = channel.size() < HEADER_SIZE ? 0 : replay(channel, graph);
+
+            if (validSize == 0) {
+                channel.truncate(0);
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.put(MAGIC).put((byte) VERSION).flip();
+                while (header.hasRemaining()) {
+                    channel.write(header, HEADER_SIZE - header.remaining());
+                }
+                channel.force(true);
+                validSize = HEADER_SIZE;
+            } else if (validSize < channel.size()) {
+                channel.truncate(validSize);
+                channel.force(true);
+            }
+
+            channel.position(validSize);
+            return new MutationLog(channel, validSize);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Возвращает длину целой части журнала вместе с заголовком
+    private static long replay(FileChannel channel, GraphDescriptor graph) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Channels.newInputStream(channel.position(0)), BUFFER_SIZE));
+        long fileSize = channel.size();
+
+        byte[] header = new byte[HEADER_SIZE];
+        in.readFully(header);
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (header[i] != MAGIC[i]) {
+                throw new IllegalArgumentException("Неверный формат журнала изменений");
+            }
+        }
+        if (header[MAGIC.length] != VERSION) {
+            throw new IllegalArgumentException("Неподдерживаемая версия журнала изменений");
+        }
+
+        long position = HEADER_SIZE;
+        CRC32 checksum = new CRC32();
+        byte[] body = new byte[64];
+
+        while (fileSize - position >= 8) {
+            int length = in.readInt();
+            if (length <= 0 || length > MAX_RECORD_SIZE || fileSize - position - 8 < length) {
+                break;
+            }
+            if (body.length < length) {
+                body = new byte[Math.max(length, body.length * 2)];
+            }
+            in.readFully(body, 0, length);
+            int storedChecksum = in.readInt();
+
+            checksum.reset();
+            checksum.update(body, 0, length);
+            if ((int) checksum.getValue() != storedChecksum) {
+                break;
+            }
+
+            apply(graph, ByteBuffer.wrap(body, 0, length));
+            position += 8 + length;
+        }
+        return position;
+    }
+
+    private static void apply(GraphDescriptor graph, ByteBuffer record) {
+        try {
+            byte type = record.get();
+            switch (type) {
+                case ADD_VERTEX: {
+                    int vertexId = record.getInt();
+                    int labelLength = record.getInt();
+                    if (labelLength >= 0) {
+                        byte[] label = new byte[labelLength];
+                        record.get(label);
+                        graph.getLabels().put(vertexId, new String(label, StandardCharsets.UTF_8));
+                    }
+                    int[] targets = new int[record.getInt()];
+                    for (int i = 0; i < targets.length; i++) {
+                        targets[i] = record.getInt();
+                    }
+                    GraphOperations.addVertex(graph, vertexId, targets);
+                    break;
+                }
+                case ADD_EDGE:
+                    GraphOperations.addEdge(graph, record.getInt(), record.getInt());
+                    break;
+                case ADD_WEIGHTED_EDGE:
+                    GraphOperations.addEdge(graph, record.getInt(), record.getInt(), record.getDouble());
+                    break;
+                case SET_WEIGHT:
+                    GraphOperations.setEdgeWeight(graph, record.getInt(), record.getInt(), record.getDouble());
+                    break;
+                case DELETE_VERTEX:
+                    GraphOperations.deleteVertex(graph, record.getInt());
+                    break;
+                case REMOVE_EDGE:
+                    GraphOperations.removeEdge(graph, record.getInt(), record.getInt());
+                    break;
+                case RELABEL_VERTEX: {
+                    int vertexId = record.getInt();
+                    byte[] label = new byte[record.getInt()];
+                    record.get(label);
+                    GraphOperations.relabelVertex(graph, vertexId, new String(label, StandardCharsets.UTF_8));
+                    break;
+                }
+                default:
+                    throw new IllegalArgumentException("Неизвестный тип записи журнала: " + type);
+            }
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            throw new IllegalArgumentException("Журнал изменений не согласован со снимком: " + e.getMessage());
+        }
+    }
+
+    // label == null — вершина с меткой по умолчанию
+    public synchronized long appendAddVertex(int vertexId, String label, int[] connectedVertices) throws IOException {
+        byte[] labelBytes = label == null ? null : label.getBytes(StandardCharsets.UTF_8);
+        int targetCount = connectedVertices == null ? 0 : connectedVertices.length;
+        int length = 1 + 4 + 4 + (labelBytes == null ? 0 : labelBytes.length) + 4 + 4 * targetCount;
+
+        ByteBuffer out = beginRecord(length);
+        out.put(ADD_VERTEX);
+        out.putInt(vertexId);
+        if (labelBytes == null) {
+            out.putInt(-1);
+        } else {
+            out.putInt(labelBytes.length);
+            out.put(labelBytes);
+        }
+        out.putInt(targetCount);
+        for (int i = 0; i < targetCount; i++) {
+            out.putInt(connectedVertices[i]);
+        }
+        return endRecord(length);
+    }
+
+    public synchronized long appendAddEdge(int sourceId, int targetId) throws IOException {
+        ByteBuffer out = beginRecord(9);
+        out.put(ADD_EDGE);
+        out.putInt(sourceId);
+        out.putInt(targetId);
+        return endRecord(9);
+    }
+
+    public synchronized long appendAddEdge(int sourceId, int targetId, double weight) throws IOException {
+        if (weight == 1.0) {
+            return appendAddEdge(sourceId, targetId);
+        }
+        return appendWeighted(ADD_WEIGHTED_EDGE, sourceId, targetId, weight);
+    }
+
+    public synchronized long appendSetWeight(int sourceId, int targetId, double weight) throws IOException {
+        return appendWeighted(SET_WEIGHT, sourceId, targetId, weight);
+    }
+
+    private long appendWeighted(byte type, int sourceId, int targetId, double weight) throws IOException {
+        ByteBuffer out = beginRecord(17);
+        out.put(type);
+        out.putInt(sourceId);
+        out.putInt(targetId);
+        out.putDouble(weight);
+        return endRecord(17);
+    }
+
+    public synchronized long appendDeleteVertex(int vertexId) throws IOException {
+        ByteBuffer out = beginRecord(5);
+        out.put(DELETE_VERTEX);
+        out.putInt(vertexId);
+        return endRecord(5);
+    }
+
+    public synchronized long appendRemoveEdge(int sourceId, int targetId) throws IOException {
+        ByteBuffer out = beginRecord(9);
+        out.put(REMOVE_EDGE);
+        out.putInt(sourceId);
+        out.putInt(targetId);
+        return endRecord(9);
+    }
+
+    public synchronized long appendRelabelVertex(int vertexId, String label) throws IOException {
+        byte[] labelBytes = label.getBytes(StandardCharsets.UTF_8);
+        int length = 1 + 4 + 4 + labelBytes.length;
+
+        ByteBuffer out = beginRecord(length);
+        out.put(RELABEL_VERTEX);
+        out.putInt(vertexId);
+        out.putInt(labelBytes.length);
+        out.put(labelBytes);
+        return endRecord(length);
+    }
+
+    private ByteBuffer beginRecord(int length) throws IOException {
+        checkFailed();
+        if (length > MAX_RECORD_SIZE) {
+            throw new IllegalArgumentException("Слишком большая запись журнала");
+        }
+        // Полный буфер дописывается в файл без force, чтобы не расти без предела
+        if (pending.remaining() < length + 8 && pending.position() > 0 && !syncing) {
+            writePending();
+        }
+        if (pending.remaining() < length + 8) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + length + 8));
+            pending.flip();
+            larger.put(pending);
+            pending = larger;
+        }
+        pending.putInt(length);
+        return pending;
+    }
+
+    private long endRecord(int length) {
+        CRC32 checksum = new CRC32();
+        checksum.update(pending.array(), pending.position() - length, length);
+        pending.putInt((int) checksum.getValue());
+        size += 8 + length;
+        return ++appendedSequence;
+    }
+
+    private void writePending() throws IOException {
+        pending.flip();
+        try {
+            while (pending.hasRemaining()) {
+                channel.write(pending);
+            }
+        } catch (IOException | RuntimeException e) {
+            throw fail(e);
+        }
+        pending.clear();
+    }
+
+    // Вызывается под монитором журнала
+    private IOException fail(Exception cause) {
+        if (failed == null) {
+            failed = cause instanceof IOException
+                    ? (IOException) cause
+                    : new IOException("Ошибка записи журнала изменений", cause);
+        }
+        notifyAll();
+        return failed;
+    }
+
+    private void checkFailed() throws IOException {
+        if (failed != null) {
+            throw new IOException("Журнал изменений недоступен после ошибки записи", failed);
+        }
+    }
+
+    // Гарантирует, что запись с номером sequence и все предыдущие на диске
+    public void sync(long sequence) throws IOException {
+        long target;
+        ByteBuffer batch;
+
+        synchronized (this) {
+            while (syncedSequence < sequence && failed == null && syncing) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Ожидание записи журнала прервано");
+                }
+            }
+            if (syncedSequence >= sequence) {
+                return;
+            }
+            checkFailed();
+
+            // Этот поток становится ведущим и сбрасывает всё накопленное
+            syncing = true;
+            target = appendedSequence;
+            batch = pending;
+            pending = flushing;
+            flushing = batch;
+        }
+
+        try {
+            batch.flip();
+            while (batch.hasRemaining()) {
+                channel.write(batch);
+            }
+            channel.force(false);
+        } catch (IOException | RuntimeException e) {
+            // Записи пакета потеряны или оборваны: подтверждать последующие нельзя
+            synchronized (this) {
+                syncing = false;
+                throw fail(e);
+            }
+        }
+
+        batch.clear();
+        synchronized (this) {
+            syncedSequence = target;
+            syncing = false;
+            notifyAll();
+        }
+    }
+
+    public void sync() throws IOException {
+        long sequence;
+        synchronized (this) {
+            sequence = appendedSequence;
+        }
+        sync(sequence);
+    }
+
+    public synchronized long size() {
+        return size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sync();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package metrics;
+
+import javax.management.*;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Счётчики, гистограммы времени и длины просмотра для основных операций с графом.
+ * Включаются свойством -Dgraph.metrics=true. Флаг ENABLED — static final,
+ * поэтому при выключенных метриках JIT удаляет вызовы start и record как мёртвый код.
+ * Показатели доступны через snapshot и через JMX (registerMBean).
+ */
+public final class GraphMetrics {
+
+    public static final boolean ENABLED = Boolean.getBoolean("graph.metrics");
+    public static final String OBJECT_NAME = "graph:type=GraphMetrics";
+
+    private static final Operation[] OPERATIONS = Operation.values();
+    private static final LogHistogram[] LATENCY = new LogHistogram[OPERATIONS.length];
+    private static final LogHistogram[] SCANNED = new LogHistogram[OPERATIONS.length];
+    private static final long[] MAX_SCANNED = new long[OPERATIONS.length];
+    private static final int[] MAX_SCANNED_VERTEX = new int[OPERATIONS.length];
+
+    static {
+        for (int i = 0; i < OPERATIONS.length; i++) {
+            LATENCY[i] = new LogHistogram();
+            SCANNED[i] = new LogHistogram();
+            MAX_SCANNED_VERTEX[i] = -1;
+        }
+    }
+
+    private GraphMetrics() {
+    }
+
+    // Момент начала операции для record; 0, если метрики выключены
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    public static void record(Operation operation, long startNanos, long scanned, int vertexId) {
+        if (!ENABLED) {
+            return;
+        }
+
+        int index = operation.ordinal();
+        LATENCY[index].record(System.nanoTime() - startNanos);
+        SCANNED[index].record(scanned);
+
+        // Новый максимум встречается редко, поэтому блокировка почти не берётся
+        if (scanned > MAX_SCANNED[index]) {
+            synchronized (MAX_SCANNED) {
+                if (scanned > MAX_SCANNED[index]) {
+                    MAX_SCANNED[index] = scanned;
+                    MAX_SCANNED_VERTEX[index] = vertexId;
+                }
+            }
+        }
+    }
+
+    public static OperationSnapshot snapshot(Operation operation) {
+        int index = operation.ordinal();
+        int vertex;
+        synchronized (MAX_SCANNED) {
+            vertex = MAX_SCANNED_VERTEX[index];
+        }
+        return new OperationSnapshot(operation, LATENCY[index].snapshot(), SCANNED[index].snapshot(), vertex);
+    }
+
+    public static List<OperationSnapshot> snapshot() {
+        List<OperationSnapshot> result = new ArrayList<>(OPERATIONS.length);
+        for (Operation operation : OPERATIONS) {
+            result.add(snapshot(operation));
+        }
+        return result;
+    }
+
+    public static void reset() {
+        synchronized (MAX_SCANNED) {
+            for (int i = 0; i < OPERATIONS.length; i++) {
+                LATENCY[i].reset();
+                SCANNED[i].reset();
+                MAX_SCANNED[i] = 0;
+                MAX_SCANNED_VERTEX[i] = -1;
+            }
+        }
+    }
+
+    // Регистрирует метрики в платформенном MBean-сервере; повторный вызов ничего не делает
+    public static synchronized void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new StandardMBean(new MBean(), GraphMetricsMXBean.class, true), name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Не удалось зарегистрировать метрики в JMX: " + e.getMessage(), e);
+        }
+    }
+
+    private static class MBean implements GraphMetricsMXBean {
+
+        @Override
+        public boolean isEnabled() {
+            return ENABLED;
+        }
+
+        @Override
+        public List<OperationSnapshot> getOperations() {
+            return snapshot();
+        }
+
+        @Override
+        public void reset() {
+            GraphMetrics.reset();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package metrics;
+
+import java.util.List;
+
+// Интерфейс JMX: объект graph:type=GraphMetrics
+public interface GraphMetricsMXBean {
+
+    boolean isEnabled();
+
+    List<OperationSnapshot> getOperations();
+
+    void reset();
+}
@@ -0,0 +1,16 @@
+package metrics;
+
+public enum Operation {
+    // GraphOperations.findVertexByLabel
+    FIND_VERTEX_BY_LABEL,
+    // GraphOperations.findEdge
+    FIND_EDGE,
+    // GraphOperations.addEdge
+    ADD_EDGE,
+    // GraphOperations.removeEdge
+    REMOVE_EDGE,
+    // GraphOperations.deleteVertex
+    DELETE_VERTEX,
+    // FileManager.loadAdjacencyMatrix
+    LOAD_ADJACENCY_MATRIX
+}
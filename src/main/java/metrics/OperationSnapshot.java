@@ -0,0 +1,48 @@
+package metrics;
+
+import lombok.Getter;
+
+/**
+ * Показатели одной операции на момент снимка.
+ * Время — в наносекундах; scanned — число просмотренных при операции
+ * элементов (рёбер, вершин или строк матрицы).
+ */
+@Getter
+public class OperationSnapshot {
+    private final String operation;
+    private final long count;
+    private final long totalNanos;
+    private final long meanNanos;
+    private final long p50Nanos;
+    private final long p90Nanos;
+    private final long p99Nanos;
+    private final long maxNanos;
+    private final long meanScanned;
+    private final long p99Scanned;
+    private final long maxScanned;
+    // Вершина, на которой был просмотрен максимум; -1, если неизвестна
+    private final int maxScannedVertex;
+
+    OperationSnapshot(Operation operation, LogHistogram.Snapshot latency, LogHistogram.Snapshot scanned,
+                      int maxScannedVertex) {
+        this.operation = operation.name();
+        this.count = latency.getCount();
+        this.totalNanos = latency.getTotal();
+        this.meanNanos = latency.getMean();
+        this.p50Nanos = latency.percentile(0.5);
+        this.p90Nanos = latency.percentile(0.9);
+        this.p99Nanos = latency.percentile(0.99);
+        this.maxNanos = latency.getMax();
+        this.meanScanned = scanned.getMean();
+        this.p99Scanned = scanned.percentile(0.99);
+        this.maxScanned = scanned.getMax();
+        this.maxScannedVertex = maxScannedVertex;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-22s n=%d mean=%dns p50=%dns p90=%dns p99=%dns max=%dns scanned(mean=%d p99=%d max=%d @%d)",
+                operation, count, meanNanos, p50Nanos, p90Nanos, p99Nanos, maxNanos,
+                meanScanned, p99Scanned, maxScanned, maxScannedVertex);
+    }
+}
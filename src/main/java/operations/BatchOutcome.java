@@ -0,0 +1,9 @@
+package operations;
+
+public enum BatchOutcome {
+    APPLIED,
+    ALREADY_EXISTS,
+    DUPLICATE_IN_BATCH,
+    VERTEX_NOT_FOUND,
+    INVALID_ID
+}
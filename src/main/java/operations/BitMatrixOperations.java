@@ -0,0 +1,105 @@
+package operations;
+
+import data_structures.BitMatrix;
+import data_structures.VertexLabels;
+
+/**
+ * Операции над графом в виде битовой матрицы: множества соседей
+ * обрабатываются пословно, по 64 вершины за одну инструкцию.
+ */
+public class BitMatrixOperations {
+
+    private static void validateMatrix(BitMatrix matrix) {
+        if (matrix == null) {
+            throw new IllegalArgumentException("Матрица не может быть null");
+        }
+    }
+
+    private static void validateVertex(BitMatrix matrix, int vertexId) {
+        if (vertexId < 0 || vertexId >= matrix.getSize()) {
+            throw new IllegalArgumentException("Вершина " + VertexLabels.defaultLabel(vertexId) + " не найдена");
+        }
+    }
+
+
+    // Общие последователи: вершины w, для которых есть рёбра u -> w и v -> w
+    public static int[] commonNeighbours(BitMatrix matrix, int firstVertex, int secondVertex) {
+        validateMatrix(matrix);
+        validateVertex(matrix, firstVertex);
+        validateVertex(matrix, secondVertex);
+        return matrix.intersection(firstVertex, secondVertex);
+    }
+
+
+    public static int countCommonNeighbours(BitMatrix matrix, int firstVertex, int secondVertex) {
+        validateMatrix(matrix);
+        validateVertex(matrix, firstVertex);
+        validateVertex(matrix, secondVertex);
+        return matrix.intersectionCount(firstVertex, secondVertex);
+    }
+
+
+    // Алгоритм Уоршелла: если i достигает k, строка k добавляется к строке i.
+    // Результат — новая матрица, в которой (i, j) = 1, если есть путь i -> j длины не меньше 1
+    public static BitMatrix transitiveClosure(BitMatrix matrix) {
+        validateMatrix(matrix);
+
+        BitMatrix closure = matrix.copy();
+        int n = closure.getSize();
+        for (int k = 0; k < n; k++) {
+            for (int i = 0; i < n; i++) {
+                if (closure.get(i, k)) {
+                    closure.orRow(i, k);
+                }
+            }
+        }
+        return closure;
+    }
+
+
+    // Треугольники без учёта направления рёбер и петель: каждая пара смежных
+    // вершин i < j даёт |N(i) ∩ N(j)| треугольников, и каждый треугольник
+    // при этом учитывается трижды
+    public static long countTriangles(BitMatrix matrix) {
+        validateMatrix(matrix);
+
+        int n = matrix.getSize();
+        BitMatrix undirected = matrix.transpose();
+        for (int i = 0; i < n; i++) {
+            undirected.orRow(i, matrix, i);
+            undirected.clear(i, i);
+        }
+
+        long total = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j : undirected.rowIndices(i)) {
+                if (j > i) {
+                    total += undirected.intersectionCount(i, j);
+                }
+            }
+        }
+        return total / 3;
+    }
+
+
+    // Ориентированные циклы длины 3 (u -> v -> w -> u): для ребра u -> v
+    // считаются w из N+(v) ∩ N-(u); каждый цикл встречается трижды
+    public static long countDirectedTriangles(BitMatrix matrix) {
+        validateMatrix(matrix);
+
+        int n = matrix.getSize();
+        BitMatrix withoutLoops = matrix.copy();
+        for (int i = 0; i < n; i++) {
+            withoutLoops.clear(i, i);
+        }
+        BitMatrix transposed = withoutLoops.transpose();
+
+        long total = 0;
+        for (int u = 0; u < n; u++) {
+            for (int v : withoutLoops.rowIndices(u)) {
+                total += withoutLoops.intersectionCount(v, transposed, u);
+            }
+        }
+        return total / 3;
+    }
+}
@@ -0,0 +1,314 @@
+package operations;
+
+import data_structures.EdgeNode;
+import data_structures.GraphDescriptor;
+import data_structures.GraphNode;
+import metrics.GraphMetrics;
+import metrics.Operation;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * Потокобезопасная обёртка над GraphDescriptor.
+ * Чтение рёбер идёт без блокировок (оптимистичные штампы StampedLock),
+ * добавление рёбер берёт блокировку полосы вершины-источника,
+ * добавление и удаление вершин берут эксклюзивную блокировку структуры.
+ */
+public class ConcurrentGraph {
+
+    private static final int DEFAULT_STRIPE_COUNT = 64;
+
+    private final GraphDescriptor graph;
+    private final StampedLock structureLock;
+    private final StampedLock[] stripes;
+    private final int stripeMask;
+
+    public ConcurrentGraph(GraphDescriptor graph) {
+        this(graph, DEFAULT_STRIPE_COUNT);
+    }
+
+    public ConcurrentGraph(GraphDescriptor graph, int stripeCount) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
+        }
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Неверное количество полос блокировки: " + stripeCount);
+        }
+
+        int size = stripeCount == 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+
+        this.graph = graph;
+        this.structureLock = new StampedLock();
+        this.stripes = new StampedLock[size];
+        this.stripeMask = size - 1;
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new StampedLock();
+        }
+    }
+
+    private StampedLock stripeFor(int vertexId) {
+        return stripes[vertexId & stripeMask];
+    }
+
+    // Оптимистичная попытка ищет ребро без учёта в метриках и записывает
+    // FIND_EDGE один раз, когда штампы подтвердили результат; под блокировкой
+    // метрики записывает сам GraphOperations.findEdge
+    public boolean findEdge(int sourceVertex, int targetVertex) {
+        StampedLock stripe = stripeFor(sourceVertex);
+        long structureStamp = structureLock.tryOptimisticRead();
+        long stripeStamp = stripe.tryOptimisticRead();
+
+        if (structureStamp != 0 && stripeStamp != 0) {
+            try {
+                long started = GraphMetrics.start();
+                boolean result = GraphOperations.containsEdge(graph, sourceVertex, targetVertex);
+                int scanned = scannedEdges(sourceVertex);
+                if (stripe.validate(stripeStamp) && structureLock.validate(structureStamp)) {
+                    GraphMetrics.record(Operation.FIND_EDGE, started, scanned, sourceVertex);
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                // Несогласованное состояние во время записи: повторяем под блокировкой
+            }
+        }
+
+        long structureRead = structureLock.readLock();
+        try {
+            long stripeRead = stripe.readLock();
+            try {
+                return GraphOperations.findEdge(graph, sourceVertex, targetVertex);
+            } finally {
+                stripe.unlockRead(stripeRead);
+            }
+        } finally {
+            structureLock.unlockRead(structureRead);
+        }
+    }
+
+    public int[] neighbours(int vertexId) {
+        StampedLock stripe = stripeFor(vertexId);
+        long structureStamp = structureLock.tryOptimisticRead();
+        long stripeStamp = stripe.tryOptimisticRead();
+
+        if (structureStamp != 0 && stripeStamp != 0) {
+            try {
+                int[] result = collectNeighbours(vertexId);
+                if (stripe.validate(stripeStamp) && structureLock.validate(structureStamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                // Несогласованное состояние во время записи: повторяем под блокировкой
+            }
+        }
+
+        long structureRead = structureLock.readLock();
+        try {
+            long stripeRead = stripe.readLock();
+            try {
+                return collectNeighbours(vertexId);
+            } finally {
+                stripe.unlockRead(stripeRead);
+            }
+        } finally {
+            structureLock.unlockRead(structureRead);
+        }
+    }
+
+    public void forEachNeighbour(int vertexId, IntConsumer action) {
+        StampedLock stripe = stripeFor(vertexId);
+        long structureRead = structureLock.readLock();
+        try {
+            long stripeRead = stripe.readLock();
+            try {
+                GraphNode vertex = graph.findVertex(vertexId);
+                if (vertex == null) {
+                    return;
+                }
+                for (EdgeNode edge = vertex.getFirstEdge(); edge != null; edge = edge.getNextEdge()) {
+                    action.accept(edge.getTargetNode().getId());
+                }
+            } finally {
+                stripe.unlockRead(stripeRead);
+            }
+        } finally {
+            structureLock.unlockRead(structureRead);
+        }
+    }
+
+    public int degree(int vertexId) {
+        StampedLock stripe = stripeFor(vertexId);
+        long structureStamp = structureLock.tryOptimisticRead();
+        long stripeStamp = stripe.tryOptimisticRead();
+
+        if (structureStamp != 0 && stripeStamp != 0) {
+            try {
+                int result = outDegree(vertexId);
+                if (stripe.validate(stripeStamp) && structureLock.validate(structureStamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                // Несогласованное состояние во время записи: повторяем под блокировкой
+            }
+        }
+
+        long structureRead = structureLock.readLock();
+        try {
+            long stripeRead = stripe.readLock();
+            try {
+                return outDegree(vertexId);
+            } finally {
+                stripe.unlockRead(stripeRead);
+            }
+        } finally {
+            structureLock.unlockRead(structureRead);
+        }
+    }
+
+    public int findVertexByLabel(String label) {
+        long structureRead = structureLock.readLock();
+        try {
+            return GraphOperations.findVertexByLabel(graph, label);
+        } finally {
+            structureLock.unlockRead(structureRead);
+        }
+    }
+
+    public void addEdge(int sourceId, int targetId) {
+        writeEdge(sourceId, targetId, () -> GraphOperations.addEdge(graph, sourceId, targetId));
+    }
+
+    public void removeEdge(int sourceId, int targetId) {
+        writeEdge(sourceId, targetId, () -> GraphOperations.removeEdge(graph, sourceId, targetId));
+    }
+
+    // Изменение одного ребра: полосы источника и, при обратном индексе, цели
+    // берутся на запись в порядке номеров полос
+    private void writeEdge(int sourceId, int targetId, Runnable mutation) {
+        long structureRead = structureLock.readLock();
+        try {
+            StampedLock first = stripeFor(sourceId);
+            StampedLock second = graph.isReverseIndexEnabled() ? stripeFor(targetId) : first;
+            if ((targetId & stripeMask) < (sourceId & stripeMask) && second != first) {
+                StampedLock swap = first;
+                first = second;
+                second = swap;
+            }
+
+            long firstStamp = first.writeLock();
+            try {
+                long secondStamp = second != first ? second.writeLock() : 0;
+                try {
+                    mutation.run();
+                } finally {
+                    if (second != first) {
+                        second.unlockWrite(secondStamp);
+                    }
+                }
+            } finally {
+                first.unlockWrite(firstStamp);
+            }
+        } finally {
+            structureLock.unlockRead(structureRead);
+        }
+    }
+
+    public void addVertex(int vertexId, int[] connectedVertices) {
+        long structureWrite = structureLock.writeLock();
+        try {
+            GraphOperations.addVertex(graph, vertexId, connectedVertices);
+        } finally {
+            structureLock.unlockWrite(structureWrite);
+        }
+    }
+
+    public int addVertex(String vertexLabel, int[] connectedVertices) {
+        long structureWrite = structureLock.writeLock();
+        try {
+            return GraphOperations.addVertex(graph, vertexLabel, connectedVertices);
+        } finally {
+            structureLock.unlockWrite(structureWrite);
+        }
+    }
+
+    // Вершина получает следующий свободный id, который выбирается под блокировкой
+    public int addVertex(int[] connectedVertices) {
+        long structureWrite = structureLock.writeLock();
+        try {
+            int vertexId = graph.getIdBound();
+            GraphOperations.addVertex(graph, vertexId, connectedVertices);
+            return vertexId;
+        } finally {
+            structureLock.unlockWrite(structureWrite);
+        }
+    }
+
+    public void relabelVertex(int vertexId, String newLabel) {
+        long structureWrite = structureLock.writeLock();
+        try {
+            GraphOperations.relabelVertex(graph, vertexId, newLabel);
+        } finally {
+            structureLock.unlockWrite(structureWrite);
+        }
+    }
+
+    public void deleteVertex(int vertexId) {
+        long structureWrite = structureLock.writeLock();
+        try {
+            GraphOperations.deleteVertex(graph, vertexId);
+        } finally {
+            structureLock.unlockWrite(structureWrite);
+        }
+    }
+
+    // Выполняет чтение всего графа: блокирует структуру и все полосы на чтение
+    public <T> T withReadLock(Function<GraphDescriptor, T> reader) {
+        long structureRead = structureLock.readLock();
+        long[] stripeStamps = new long[stripes.length];
+        int locked = 0;
+        try {
+            for (; locked < stripes.length; locked++) {
+                stripeStamps[locked] = stripes[locked].readLock();
+            }
+            return reader.apply(graph);
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                stripes[i].unlockRead(stripeStamps[i]);
+            }
+            structureLock.unlockRead(structureRead);
+        }
+    }
+
+    private int outDegree(int vertexId) {
+        GraphNode vertex = graph.findVertex(vertexId);
+        return vertex == null ? 0 : vertex.getOutDegree();
+    }
+
+    // Оценка просмотренных рёбер, как при добавлении ребра в GraphOperations
+    private int scannedEdges(int vertexId) {
+        GraphNode vertex = graph.findVertex(vertexId);
+        if (vertex == null) {
+            return 0;
+        }
+        return vertex.getEdgeIndex() != null ? 1 : vertex.getOutDegree();
+    }
+
+    private int[] collectNeighbours(int vertexId) {
+        GraphNode vertex = graph.findVertex(vertexId);
+        if (vertex == null) {
+            return new int[0];
+        }
+
+        int[] result = new int[8];
+        int count = 0;
+        for (EdgeNode edge = vertex.getFirstEdge(); edge != null; edge = edge.getNextEdge()) {
+            if (count == result.length) {
+                result = Arrays.copyOf(result, count * 2);
+            }
+            result[count++] = edge.getTargetNode().getId();
+        }
+        return Arrays.copyOf(result, count);
+    }
+}
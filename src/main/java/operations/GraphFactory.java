@@ -0,0 +1,89 @@
+package operations;
+
+import data_structures.BitMatrix;
+import data_structures.BitMatrixGraph;
+import data_structures.Graph;
+import data_structures.GraphDescriptor;
+import data_structures.HashGraph;
+
+/**
+ * Выбор представления графа по плотности исходной матрицы.
+ */
+public class GraphFactory {
+
+    // Матрица занимает n^2 бит, хеш-множества — порядка 16 байт на ребро,
+    // поэтому матрица выгоднее уже при заполнении от 1/64
+    private static final double BIT_MATRIX_MIN_DENSITY = 1.0 / 64;
+    // 16384 вершины — 32 МБ на матрицу
+    private static final int BIT_MATRIX_MAX_VERTICES = 16_384;
+
+    public static GraphRepresentation choose(int vertexCount, long edgeCount) {
+        if (vertexCount <= 0) {
+            throw new IllegalArgumentException("Неверное количество вершин: " + vertexCount);
+        }
+
+        double density = (double) edgeCount / ((double) vertexCount * vertexCount);
+        if (vertexCount <= BIT_MATRIX_MAX_VERTICES && density >= BIT_MATRIX_MIN_DENSITY) {
+            return GraphRepresentation.BIT_MATRIX;
+        }
+        return GraphRepresentation.HASH;
+    }
+
+    public static GraphRepresentation choose(int[][] adjacencyMatrix) {
+        if (adjacencyMatrix == null || adjacencyMatrix.length == 0) {
+            throw new IllegalArgumentException("Матрица не может быть пустой");
+        }
+
+        long edgeCount = 0;
+        for (int[] row : adjacencyMatrix) {
+            for (int cell : row) {
+                if (cell == 1) {
+                    edgeCount++;
+                }
+            }
+        }
+        return choose(adjacencyMatrix.length, edgeCount);
+    }
+
+    public static Graph create(GraphRepresentation representation, int expectedVertices) {
+        if (representation == null) {
+            throw new IllegalArgumentException("Представление графа не может быть null");
+        }
+
+        switch (representation) {
+            case BIT_MATRIX:
+                return new BitMatrixGraph(expectedVertices);
+            case HASH:
+                return new HashGraph(expectedVertices);
+            default:
+                return new LinkedGraph(new GraphDescriptor(expectedVertices));
+        }
+    }
+
+    public static Graph fromMatrix(int[][] adjacencyMatrix) {
+        GraphRepresentation representation = choose(adjacencyMatrix);
+        return GraphOperations.buildGraphFromMatrix(adjacencyMatrix, create(representation, adjacencyMatrix.length));
+    }
+
+    // Плотная матрица используется графом напрямую, без копирования
+    public static Graph fromMatrix(BitMatrix adjacencyMatrix) {
+        if (adjacencyMatrix == null || adjacencyMatrix.getSize() == 0) {
+            throw new IllegalArgumentException("Матрица не может быть пустой");
+        }
+
+        int n = adjacencyMatrix.getSize();
+        if (choose(n, adjacencyMatrix.cardinality()) == GraphRepresentation.BIT_MATRIX) {
+            return new BitMatrixGraph(adjacencyMatrix);
+        }
+
+        Graph graph = create(GraphRepresentation.HASH, n);
+        for (int i = 0; i < n; i++) {
+            graph.addVertex(i);
+        }
+        for (int i = 0; i < n; i++) {
+            int[] targets = adjacencyMatrix.rowIndices(i);
+            graph.appendEdges(i, targets, 0, targets.length);
+        }
+        return graph;
+    }
+}
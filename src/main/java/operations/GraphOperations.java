@@ -1,14 +1,40 @@
 package operations;
 
+import data_structures.BitMatrix;
+import data_structures.CsrGraph;
 import data_structures.EdgeNode;
+import data_structures.Graph;
 import data_structures.GraphDescriptor;
 import data_structures.GraphNode;
-
+import data_structures.IntHashSet;
+import data_structures.EdgeIndex;
+import io.ExportFormat;
+import io.GraphExporter;
+import metrics.GraphMetrics;
+import metrics.Operation;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public class GraphOperations {
 
+    // Степень, начиная с которой у вершины строится хеш-индекс соседей
+    private static final int HUB_DEGREE_THRESHOLD = 32;
+    private static final int CONSOLE_BUFFER_SIZE = 1 << 16;
+    // Минимальное число ячеек матрицы, которое просматривает одна задача построения
+    private static final int ROW_GRAIN = 1 << 16;
+    // Наименьшая ширина блока столбцов при подсчёте входящих степеней
+    private static final int COLUMN_BLOCK = 64;
+
     private static void validateGraphNotNull(GraphDescriptor graph) {
         if (graph == null) {
             throw new IllegalArgumentException("Граф не может быть null");
@@ -22,312 +48,1071 @@ public class GraphOperations {
     }
 
 
-    private static GraphNode validateAndGetVertex(GraphDescriptor graph, char label) {
-        GraphNode vertex = findVertexByLabel(graph, label);
+    // Кратчайшие пути считаются алгоритмом Дейкстры, поэтому вес не может быть отрицательным
+    public static void validateWeight(double weight) {
+        if (!(weight >= 0) || Double.isInfinite(weight)) {
+            throw new IllegalArgumentException("Неверный вес ребра: " + weight);
+        }
+    }
+
+
+    private static GraphNode validateAndGetVertex(GraphDescriptor graph, int vertexId) {
+        GraphNode vertex = findVertexById(graph, vertexId);
         if (vertex == null) {
-            throw new IllegalArgumentException("Вершина " + label + " не найдена");
+            throw new IllegalArgumentException("Вершина " + graph.labelOf(vertexId) + " не найдена");
         }
         return vertex;
     }
 
 
-    private static EdgeNode buildEdgeList(List<GraphNode> targetNodes) {
+    private static void buildEdgeList(GraphDescriptor graph, GraphNode sourceNode, List<GraphNode> targetNodes) {
         if (targetNodes == null || targetNodes.isEmpty()) {
-            return null;
+            return;
         }
 
         EdgeNode firstEdge = new EdgeNode(targetNodes.get(0));
         EdgeNode lastEdge = firstEdge;
+        sourceNode.setFirstEdge(firstEdge);
+        onEdgeLinked(graph, sourceNode, firstEdge);
 
         for (int i = 1; i < targetNodes.size(); i++) {
             EdgeNode newEdge = new EdgeNode(targetNodes.get(i));
             lastEdge.setNextEdge(newEdge);
+            newEdge.setPrevEdge(lastEdge);
             lastEdge = newEdge;
+            onEdgeLinked(graph, sourceNode, newEdge);
         }
+    }
 
-        return firstEdge;
+
+    private static void onEdgeLinked(GraphDescriptor graph, GraphNode sourceNode, EdgeNode edge) {
+        graph.recordEdgeAdded(sourceNode, edge.getTargetNode());
+
+        EdgeIndex edgeIndex = sourceNode.getEdgeIndex();
+        if (edgeIndex != null) {
+            edgeIndex.put(edge.getTargetNode().getId(), edge);
+        } else if (sourceNode.getOutDegree() > HUB_DEGREE_THRESHOLD) {
+            edgeIndex = new EdgeIndex(sourceNode.getOutDegree() * 2);
+            for (EdgeNode current = sourceNode.getFirstEdge(); current != null; current = current.getNextEdge()) {
+                edgeIndex.put(current.getTargetNode().getId(), current);
+            }
+            edgeIndex.put(edge.getTargetNode().getId(), edge);
+            sourceNode.setEdgeIndex(edgeIndex);
+        }
+
+        linkIncomingEdge(graph, sourceNode, edge);
     }
 
 
-    private static GraphNode findLastVertex(GraphDescriptor graph) {
-        GraphNode current = graph.getFirstNode();
-        while (current != null && current.getNextDataNode() != null) {
-            current = current.getNextDataNode();
+    private static void onEdgeUnlinked(GraphDescriptor graph, GraphNode sourceNode, GraphNode targetNode) {
+        graph.recordEdgeRemoved(sourceNode, targetNode);
+
+        EdgeIndex edgeIndex = sourceNode.getEdgeIndex();
+        if (edgeIndex != null) {
+            edgeIndex.remove(targetNode.getId());
+            if (sourceNode.getOutDegree() < HUB_DEGREE_THRESHOLD / 2) {
+                sourceNode.setEdgeIndex(null);
+            }
+        }
+    }
+
+
+    // Обратный индекс: во входящем списке цели у EdgeNode targetNode указывает
+    // на вершину-источник, а twinEdge связывает его с исходящим ребром
+    private static void linkIncomingEdge(GraphDescriptor graph, GraphNode sourceNode, EdgeNode outgoingEdge) {
+        if (!graph.isReverseIndexEnabled()) {
+            return;
+        }
+
+        GraphNode targetNode = outgoingEdge.getTargetNode();
+        EdgeNode incomingEdge = new EdgeNode(sourceNode, outgoingEdge.getWeight());
+        EdgeNode firstInEdge = targetNode.getFirstInEdge();
+        incomingEdge.setNextEdge(firstInEdge);
+        if (firstInEdge != null) {
+            firstInEdge.setPrevEdge(incomingEdge);
         }
-        return current;
+        targetNode.setFirstInEdge(incomingEdge);
+
+        incomingEdge.setTwinEdge(outgoingEdge);
+        outgoingEdge.setTwinEdge(incomingEdge);
+    }
+
+
+    // Исключение из двусвязного списка за O(1); nextEdge узла сохраняется,
+    // чтобы обход списка мог продолжиться после удаления
+    private static void unlinkOutgoing(GraphNode node, EdgeNode edge) {
+        EdgeNode previous = edge.getPrevEdge();
+        EdgeNode next = edge.getNextEdge();
+        if (previous == null) {
+            node.setFirstEdge(next);
+        } else {
+            previous.setNextEdge(next);
+        }
+        if (next != null) {
+            next.setPrevEdge(previous);
+        }
+    }
+
+    private static void unlinkIncoming(GraphNode node, EdgeNode edge) {
+        EdgeNode previous = edge.getPrevEdge();
+        EdgeNode next = edge.getNextEdge();
+        if (previous == null) {
+            node.setFirstInEdge(next);
+        } else {
+            previous.setNextEdge(next);
+        }
+        if (next != null) {
+            next.setPrevEdge(previous);
+        }
+    }
+
+    private static void removeEdgeNode(GraphDescriptor graph, GraphNode sourceNode, EdgeNode edge) {
+        unlinkOutgoing(sourceNode, edge);
+        if (edge.getTwinEdge() != null) {
+            unlinkIncoming(edge.getTargetNode(), edge.getTwinEdge());
+        }
+        onEdgeUnlinked(graph, sourceNode, edge.getTargetNode());
+    }
+
+    // Для вершин с индексом поиск за O(1), для остальных — просмотр списка
+    private static EdgeNode findEdgeNode(GraphNode sourceNode, GraphNode targetNode) {
+        EdgeIndex edgeIndex = sourceNode.getEdgeIndex();
+        if (edgeIndex != null) {
+            return edgeIndex.get(targetNode.getId());
+        }
+
+        for (EdgeNode edge = sourceNode.getFirstEdge(); edge != null; edge = edge.getNextEdge()) {
+            if (edge.getTargetNode() == targetNode) {
+                return edge;
+            }
+        }
+        return null;
     }
 
+
+    private static EdgeNode getEdgeNode(GraphDescriptor graph, int sourceId, int targetId) {
+        validateGraphNotEmpty(graph, "Граф пуст");
+
+        GraphNode sourceVertex = validateAndGetVertex(graph, sourceId);
+        GraphNode targetVertex = validateAndGetVertex(graph, targetId);
+
+        EdgeNode edge = findEdgeNode(sourceVertex, targetVertex);
+        if (edge == null) {
+            throw new IllegalArgumentException("Ребро " + graph.labelOf(sourceId) + " -> "
+                    + graph.labelOf(targetId) + " не найдено");
+        }
+        return edge;
+    }
+
+
     private static void removeEdgesToVertex(GraphDescriptor graph, GraphNode targetVertex) {
         GraphNode currentNode = graph.getFirstNode();
 
         while (currentNode != null) {
-            removeEdgesFromNode(currentNode, targetVertex);
+            removeEdgesFromNode(graph, currentNode, targetVertex);
             currentNode = currentNode.getNextDataNode();
         }
     }
 
-    private static void removeEdgesFromNode(GraphNode node, GraphNode targetVertex) {
-        EdgeNode currentEdge = node.getFirstEdge();
-        EdgeNode previousEdge = null;
+    // Входящие рёбра находятся по обратному индексу и исключаются через twinEdge
+    private static void removeEdgesToVertexIndexed(GraphDescriptor graph, GraphNode vertex) {
+        EdgeNode incomingEdge = vertex.getFirstInEdge();
+        while (incomingEdge != null) {
+            GraphNode predecessor = incomingEdge.getTargetNode();
+            if (predecessor != vertex) {
+                unlinkOutgoing(predecessor, incomingEdge.getTwinEdge());
+                onEdgeUnlinked(graph, predecessor, vertex);
+            }
+            incomingEdge = incomingEdge.getNextEdge();
+        }
+        vertex.setFirstInEdge(null);
+    }
+
+    // Снимает все исходящие рёбра вершины с учётом счётчиков и обратного индекса
+    private static void detachOutgoingEdges(GraphDescriptor graph, GraphNode vertex) {
+        EdgeNode outgoingEdge = vertex.getFirstEdge();
+        while (outgoingEdge != null) {
+            GraphNode successor = outgoingEdge.getTargetNode();
+            graph.recordEdgeRemoved(vertex, successor);
+            if (outgoingEdge.getTwinEdge() != null) {
+                unlinkIncoming(successor, outgoingEdge.getTwinEdge());
+            }
+            outgoingEdge = outgoingEdge.getNextEdge();
+        }
 
-        while (currentEdge != null) {
-            if (currentEdge.getTargetNode() == targetVertex) {
-                if (previousEdge == null) {
-                    node.setFirstEdge(currentEdge.getNextEdge());
-                    currentEdge = node.getFirstEdge();
-                } else {
-                    previousEdge.setNextEdge(currentEdge.getNextEdge());
-                    currentEdge = currentEdge.getNextEdge();
-                }
-            } else {
-                previousEdge = currentEdge;
-                currentEdge = currentEdge.getNextEdge();
+        vertex.setFirstEdge(null);
+        vertex.setEdgeIndex(null);
+    }
+
+    private static void removeEdgesToMarked(GraphDescriptor graph, GraphNode node, boolean[] markedIds) {
+        for (EdgeNode edge = node.getFirstEdge(); edge != null; edge = edge.getNextEdge()) {
+            if (markedIds[edge.getTargetNode().getId()]) {
+                removeEdgeNode(graph, node, edge);
+            }
+        }
+    }
+
+    private static void removeEdgesFromNode(GraphDescriptor graph, GraphNode node, GraphNode targetVertex) {
+        if (node.getEdgeIndex() != null && !node.getEdgeIndex().contains(targetVertex.getId())) {
+            return;
+        }
+
+        for (EdgeNode edge = node.getFirstEdge(); edge != null; edge = edge.getNextEdge()) {
+            if (edge.getTargetNode() == targetVertex) {
+                removeEdgeNode(graph, node, edge);
             }
         }
     }
 
 
     public static GraphDescriptor buildGraphFromMatrix(int[][] adjacencyMatrix) {
+        return buildGraphFromMatrix(adjacencyMatrix, VertexOrder.NATURAL);
+    }
+
+
+    // При порядке, отличном от NATURAL, вершины получают новые id, как после renumber
+    public static GraphDescriptor buildGraphFromMatrix(int[][] adjacencyMatrix, VertexOrder order) {
+        return buildGraphFromMatrix(adjacencyMatrix, order, ForkJoinPool.commonPool());
+    }
+
+
+    // Строки матрицы просматриваются параллельно: каждая задача сама собирает
+    // списки смежности своих строк, выставляет исходящие степени и индексы хабов,
+    // а задачи по блокам столбцов считают входящие степени. Гистограммы степеней
+    // и число рёбер графа обновляются после этого одним вызовом. При порядке,
+    // отличном от NATURAL, перестановка считается по CSR-снимку матрицы, и граф
+    // сразу строится в новой нумерации — так же, как его построил бы renumber
+    public static GraphDescriptor buildGraphFromMatrix(int[][] adjacencyMatrix, VertexOrder order,
+                                                       ForkJoinPool pool) {
         if (adjacencyMatrix == null || adjacencyMatrix.length == 0) {
             throw new IllegalArgumentException("Матрица не может быть пустой");
         }
+        if (order == null) {
+            throw new IllegalArgumentException("Порядок вершин не может быть null");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("Пул потоков не может быть null");
+        }
 
         int n = adjacencyMatrix.length;
+        // oldIds[newId] — строка и столбец матрицы вершины newId; null — порядок матрицы
+        int[] oldIds = order == VertexOrder.NATURAL
+                ? null
+                : VertexOrdering.compute(CsrGraph.fromMatrix(adjacencyMatrix), order);
         GraphNode[] nodes = new GraphNode[n];
+        GraphDescriptor graph = new GraphDescriptor(n);
+
+        for (int i = 0; i < n; i++) {
+            nodes[i] = new GraphNode(i);
+            graph.addVertex(nodes[i]);
+        }
+
+        pool.invoke(new MatrixRowsTask(adjacencyMatrix, oldIds, nodes, 0, n));
+        pool.invoke(new MatrixColumnsTask(adjacencyMatrix, oldIds, nodes, 0, n));
+        graph.recordLinkedDegrees();
+        return graph;
+    }
+
 
+    public static GraphDescriptor buildGraphFromMatrix(BitMatrix adjacencyMatrix) {
+        if (adjacencyMatrix == null || adjacencyMatrix.getSize() == 0) {
+            throw new IllegalArgumentException("Матрица не может быть пустой");
+        }
+
+        int n = adjacencyMatrix.getSize();
+        GraphDescriptor graph = createGraph(n);
         for (int i = 0; i < n; i++) {
-            nodes[i] = new GraphNode((char) ('A' + i));
+            int[] targets = adjacencyMatrix.rowIndices(i);
+            appendEdges(graph, i, targets, targets.length);
         }
+        return graph;
+    }
+
 
-        for (int i = 0; i < n - 1; i++) {
-            nodes[i].setNextDataNode(nodes[i + 1]);
+    // Построение в произвольном хранилище, например вне кучи
+    public static <G extends Graph> G buildGraphFromMatrix(int[][] adjacencyMatrix, G target) {
+        if (adjacencyMatrix == null || adjacencyMatrix.length == 0) {
+            throw new IllegalArgumentException("Матрица не может быть пустой");
+        }
+        if (target == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
         }
 
+        int n = adjacencyMatrix.length;
         for (int i = 0; i < n; i++) {
-            List<GraphNode> connectedNodes = new ArrayList<>();
+            target.addVertex(i);
+        }
 
+        int[] targets = new int[n];
+        for (int i = 0; i < n; i++) {
+            int count = 0;
             for (int j = 0; j < n; j++) {
                 if (adjacencyMatrix[i][j] == 1) {
-                    connectedNodes.add(nodes[j]);
+                    targets[count++] = j;
                 }
             }
+            target.appendEdges(i, targets, 0, count);
+        }
+
+        return target;
+    }
+
 
-            nodes[i].setFirstEdge(buildEdgeList(connectedNodes));
+    // Копия графа с перенумерованными вершинами: вершина order[newId] получает id newId.
+    // Вершины и их рёбра создаются в новом порядке, а список смежности каждой
+    // вершины отсортирован по id соседей, поэтому соседние в нумерации вершины
+    // и их рёбра оказываются рядом в памяти. Явные метки и веса переносятся,
+    // метки по умолчанию соответствуют новым id
+    public static GraphDescriptor renumber(GraphDescriptor graph, int[] order) {
+        validateGraphNotEmpty(graph, "Граф пуст");
+        if (order == null || order.length != graph.getVertexCount()) {
+            throw new IllegalArgumentException("Перестановка должна содержать все вершины графа");
         }
 
-        GraphDescriptor graph = new GraphDescriptor();
-        graph.setFirstNode(nodes[0]);
-        graph.setVertexCount(n);
+        int n = order.length;
+        int[] newIds = new int[graph.getIdBound()];
+        Arrays.fill(newIds, -1);
+        for (int newId = 0; newId < n; newId++) {
+            int oldId = order[newId];
+            if (!graph.containsVertex(oldId) || newIds[oldId] >= 0) {
+                throw new IllegalArgumentException("Неверная перестановка вершин: " + oldId);
+            }
+            newIds[oldId] = newId;
+        }
 
+        CsrGraph csr = CsrGraph.fromDescriptor(graph);
+        GraphDescriptor renumbered = new GraphDescriptor(n);
+        GraphNode[] nodes = new GraphNode[n];
+        for (int newId = 0; newId < n; newId++) {
+            nodes[newId] = new GraphNode(newId);
+            renumbered.addVertex(nodes[newId]);
+            if (graph.getLabels().hasExplicitLabel(order[newId])) {
+                renumbered.getLabels().put(newId, graph.labelOf(order[newId]));
+            }
+        }
+
+        // Ключ сортировки — новый id соседа в старших 32 битах, позиция ребра в CSR — в младших
+        long[] keys = new long[0];
+        for (int newId = 0; newId < n; newId++) {
+            int oldId = order[newId];
+            int from = csr.neighbourStart(oldId);
+            int degree = csr.neighbourEnd(oldId) - from;
+            if (keys.length < degree) {
+                keys = new long[Math.max(degree, keys.length * 2)];
+            }
+            for (int i = 0; i < degree; i++) {
+                keys[i] = ((long) newIds[csr.targetAt(from + i)] << 32) | (from + i);
+            }
+            Arrays.sort(keys, 0, degree);
+
+            GraphNode sourceNode = nodes[newId];
+            EdgeNode lastEdge = null;
+            for (int i = 0; i < degree; i++) {
+                EdgeNode newEdge = new EdgeNode(nodes[(int) (keys[i] >>> 32)], csr.weightAt((int) keys[i]));
+                if (lastEdge == null) {
+                    sourceNode.setFirstEdge(newEdge);
+                } else {
+                    lastEdge.setNextEdge(newEdge);
+                    newEdge.setPrevEdge(lastEdge);
+                }
+                lastEdge = newEdge;
+                onEdgeLinked(renumbered, sourceNode, newEdge);
+            }
+        }
+
+        if (graph.isReverseIndexEnabled()) {
+            enableReverseIndex(renumbered);
+        }
+        return renumbered;
+    }
+
+
+    public static GraphDescriptor createGraph(int vertexCount) {
+        if (vertexCount <= 0) {
+            throw new IllegalArgumentException("Неверное количество вершин: " + vertexCount);
+        }
+
+        GraphDescriptor graph = new GraphDescriptor(vertexCount);
+        for (int i = 0; i < vertexCount; i++) {
+            graph.addVertex(new GraphNode(i));
+        }
         return graph;
     }
 
 
-    public static GraphNode findVertexByLabel(GraphDescriptor graph, char label) {
+    public static void appendEdges(GraphDescriptor graph, int sourceId, int[] targetIds, int count) {
+        appendEdges(graph, sourceId, targetIds, 0, count);
+    }
+
+
+    // Добавляет рёбра в конец списка смежности без проверки на дубликаты
+    public static void appendEdges(GraphDescriptor graph, int sourceId, int[] targetIds, int offset, int count) {
+        appendEdges(graph, sourceId, targetIds, null, offset, count);
+    }
+
+
+    // Взвешенный вариант: weights[i] — вес ребра в targetIds[i]; null — все веса равны 1
+    public static void appendEdges(GraphDescriptor graph, int sourceId, int[] targetIds, double[] weights,
+                                   int offset, int count) {
+        validateGraphNotEmpty(graph, "Граф пуст");
+        if (weights != null) {
+            for (int i = offset; i < offset + count; i++) {
+                validateWeight(weights[i]);
+            }
+        }
+
+        GraphNode sourceVertex = validateAndGetVertex(graph, sourceId);
+        EdgeNode lastEdge = sourceVertex.getFirstEdge();
+        while (lastEdge != null && lastEdge.getNextEdge() != null) {
+            lastEdge = lastEdge.getNextEdge();
+        }
+
+        for (int i = offset; i < offset + count; i++) {
+            GraphNode targetVertex = validateAndGetVertex(graph, targetIds[i]);
+            EdgeNode newEdge = new EdgeNode(targetVertex, weights == null ? 1.0 : weights[i]);
+            if (lastEdge == null) {
+                sourceVertex.setFirstEdge(newEdge);
+            } else {
+                lastEdge.setNextEdge(newEdge);
+                newEdge.setPrevEdge(lastEdge);
+            }
+            lastEdge = newEdge;
+            onEdgeLinked(graph, sourceVertex, newEdge);
+        }
+    }
+
+
+    public static GraphNode findVertexById(GraphDescriptor graph, int vertexId) {
         if (graph == null || graph.isEmpty()) {
             return null;
         }
 
-        GraphNode currentNode = graph.getFirstNode();
-        while (currentNode != null) {
-            if (currentNode.getData() == label) {
-                return currentNode;
-            }
-            currentNode = currentNode.getNextDataNode();
+        return graph.findVertex(vertexId);
+    }
+
+
+    public static int findVertexByLabel(GraphDescriptor graph, String label) {
+        if (graph == null || graph.isEmpty() || label == null) {
+            return -1;
         }
 
-        return null;
+        long started = GraphMetrics.start();
+        int vertexId = graph.findIdByLabel(label);
+        GraphMetrics.record(Operation.FIND_VERTEX_BY_LABEL, started, 1, vertexId);
+        return vertexId;
     }
 
 
-    public static void addEdge(GraphDescriptor graph, char sourceLabel, char targetLabel) {
-        validateGraphNotEmpty(graph, "Граф пуст");
+    public static void addEdge(GraphDescriptor graph, int sourceId, int targetId) {
+        addEdge(graph, sourceId, targetId, 1.0);
+    }
+
 
-        GraphNode sourceVertex = validateAndGetVertex(graph, sourceLabel);
-        GraphNode targetVertex = validateAndGetVertex(graph, targetLabel);
+    public static void addEdge(GraphDescriptor graph, int sourceId, int targetId, double weight) {
+        long started = GraphMetrics.start();
+        validateGraphNotEmpty(graph, "Граф пуст");
+        validateWeight(weight);
 
+        GraphNode sourceVertex = validateAndGetVertex(graph, sourceId);
+        GraphNode targetVertex = validateAndGetVertex(graph, targetId);
 
-        if (findEdge(graph, sourceLabel, targetLabel)) {
-            throw new IllegalArgumentException("Ребро " + sourceLabel + " -> " + targetLabel + " уже существует");
+        // Новое ребро проверяется по всему списку (или по индексу хаба)
+        int scanned = sourceVertex.getEdgeIndex() != null ? 1 : sourceVertex.getOutDegree();
+        if (findEdgeNode(sourceVertex, targetVertex) != null) {
+            throw new IllegalArgumentException("Ребро " + graph.labelOf(sourceId) + " -> "
+                    + graph.labelOf(targetId) + " уже существует");
         }
-        EdgeNode newEdge = new EdgeNode(targetVertex);
+        EdgeNode newEdge = new EdgeNode(targetVertex, weight);
+        EdgeNode firstEdge = sourceVertex.getFirstEdge();
 
-        newEdge.setNextEdge(sourceVertex.getFirstEdge());
+        newEdge.setNextEdge(firstEdge);
+        if (firstEdge != null) {
+            firstEdge.setPrevEdge(newEdge);
+        }
         sourceVertex.setFirstEdge(newEdge);
+        onEdgeLinked(graph, sourceVertex, newEdge);
+        GraphMetrics.record(Operation.ADD_EDGE, started, scanned, sourceId);
+    }
+
+
+    public static void removeEdge(GraphDescriptor graph, int sourceId, int targetId) {
+        long started = GraphMetrics.start();
+        validateGraphNotEmpty(graph, "Граф пуст");
+
+        GraphNode sourceVertex = validateAndGetVertex(graph, sourceId);
+        GraphNode targetVertex = validateAndGetVertex(graph, targetId);
+
+        // Оценка сверху: без индекса поиск может остановиться раньше конца списка
+        int scanned = sourceVertex.getEdgeIndex() != null ? 1 : sourceVertex.getOutDegree();
+        EdgeNode edge = findEdgeNode(sourceVertex, targetVertex);
+        if (edge == null) {
+            throw new IllegalArgumentException("Ребро " + graph.labelOf(sourceId) + " -> "
+                    + graph.labelOf(targetId) + " не найдено");
+        }
+        removeEdgeNode(graph, sourceVertex, edge);
+        GraphMetrics.record(Operation.REMOVE_EDGE, started, scanned, sourceId);
+    }
+
+
+    public static double edgeWeight(GraphDescriptor graph, int sourceId, int targetId) {
+        return getEdgeNode(graph, sourceId, targetId).getWeight();
+    }
+
+
+    // Вес меняется на месте, у копии во входящем списке — тоже
+    public static void setEdgeWeight(GraphDescriptor graph, int sourceId, int targetId, double weight) {
+        validateWeight(weight);
+
+        EdgeNode edge = getEdgeNode(graph, sourceId, targetId);
+        edge.setWeight(weight);
+        if (edge.getTwinEdge() != null) {
+            edge.getTwinEdge().setWeight(weight);
+        }
+    }
+
+
+    public static void relabelVertex(GraphDescriptor graph, int vertexId, String newLabel) {
+        validateGraphNotEmpty(graph, "Граф пуст");
+        validateAndGetVertex(graph, vertexId);
+
+        if (newLabel == null || newLabel.isEmpty()) {
+            throw new IllegalArgumentException("Метка вершины не может быть пустой");
+        }
+        int owner = graph.findIdByLabel(newLabel);
+        if (owner >= 0 && owner != vertexId) {
+            throw new IllegalArgumentException("Вершина " + newLabel + " уже существует");
+        }
+
+        graph.getLabels().put(vertexId, newLabel);
     }
 
 
-    public static void addVertex(GraphDescriptor graph, char vertexLabel, char[] connectedVertices) {
+    public static int addVertex(GraphDescriptor graph, String vertexLabel, int[] connectedVertices) {
         validateGraphNotNull(graph);
 
-        if (findVertexByLabel(graph, vertexLabel) != null) {
+        if (vertexLabel == null || vertexLabel.isEmpty()) {
+            throw new IllegalArgumentException("Метка вершины не может быть пустой");
+        }
+        if (graph.findIdByLabel(vertexLabel) >= 0) {
             throw new IllegalArgumentException("Вершина " + vertexLabel + " уже существует");
         }
 
-        GraphNode newVertex = new GraphNode(vertexLabel);
+        int vertexId = graph.getIdBound();
+        graph.getLabels().put(vertexId, vertexLabel);
+        addVertex(graph, vertexId, connectedVertices);
+        return vertexId;
+    }
 
-        if (graph.isEmpty()) {
-            graph.setFirstNode(newVertex);
-            graph.setVertexCount(1);
-            return;
+
+    public static void addVertex(GraphDescriptor graph, int vertexId, int[] connectedVertices) {
+        validateGraphNotNull(graph);
+
+        if (vertexId < 0) {
+            throw new IllegalArgumentException("Неверный идентификатор вершины: " + vertexId);
+        }
+        if (graph.containsVertex(vertexId)) {
+            throw new IllegalArgumentException("Вершина " + graph.labelOf(vertexId) + " уже существует");
         }
 
-        GraphNode lastVertex = findLastVertex(graph);
-        lastVertex.setNextDataNode(newVertex);
+        GraphNode newVertex = new GraphNode(vertexId);
+        boolean wasEmpty = graph.isEmpty();
+        graph.addVertex(newVertex);
+
+        if (wasEmpty) {
+            return;
+        }
 
         if (connectedVertices != null && connectedVertices.length > 0) {
+            // Повторный id в списке дал бы кратное ребро
             List<GraphNode> targetNodes = new ArrayList<>();
-            for (char label : connectedVertices) {
-                GraphNode target = findVertexByLabel(graph, label);
-                if (target != null) {
+            IntHashSet seen = new IntHashSet(connectedVertices.length);
+            for (int targetId : connectedVertices) {
+                GraphNode target = graph.findVertex(targetId);
+                if (target != null && seen.add(targetId)) {
                     targetNodes.add(target);
                 }
             }
-            newVertex.setFirstEdge(buildEdgeList(targetNodes));
+            buildEdgeList(graph, newVertex, targetNodes);
         }
-
-        graph.incrementVertexCount();
     }
 
 
-    public static void deleteVertex(GraphDescriptor graph, char vertexLabel) {
+    public static void deleteVertex(GraphDescriptor graph, int vertexId) {
+        long started = GraphMetrics.start();
         validateGraphNotEmpty(graph, "Граф пуст");
 
-        GraphNode vertexToDelete = findVertexByLabel(graph, vertexLabel);
-        if (vertexToDelete == null) {
-            throw new IllegalArgumentException("Вершина " + vertexLabel + " не найдена");
+        GraphNode vertexToDelete = validateAndGetVertex(graph, vertexId);
+
+        // С обратным индексом просматриваются только рёбра вершины,
+        // без него — списки всех вершин
+        long scanned = vertexToDelete.getOutDegree();
+        detachOutgoingEdges(graph, vertexToDelete);
+        if (graph.isReverseIndexEnabled()) {
+            scanned += vertexToDelete.getInDegree();
+            removeEdgesToVertexIndexed(graph, vertexToDelete);
+        } else {
+            scanned += graph.getVertexCount();
+            removeEdgesToVertex(graph, vertexToDelete);
         }
+        graph.deleteVertex(vertexToDelete);
+        GraphMetrics.record(Operation.DELETE_VERTEX, started, scanned, vertexId);
+    }
 
-        // Удаление из списка вершин
-        GraphNode currentNode = graph.getFirstNode();
-        if (currentNode == vertexToDelete) {
-            graph.setFirstNode(currentNode.getNextDataNode());
+
+    public static BatchOutcome[] addVertices(GraphDescriptor graph, int[] vertexIds) {
+        validateGraphNotNull(graph);
+        if (vertexIds == null) {
+            throw new IllegalArgumentException("Массив вершин не может быть null");
+        }
+
+        BatchOutcome[] outcomes = new BatchOutcome[vertexIds.length];
+        boolean[] existedBefore = new boolean[vertexIds.length];
+        for (int i = 0; i < vertexIds.length; i++) {
+            existedBefore[i] = graph.containsVertex(vertexIds[i]);
+        }
+
+        for (int i = 0; i < vertexIds.length; i++) {
+            int vertexId = vertexIds[i];
+            if (vertexId < 0) {
+                outcomes[i] = BatchOutcome.INVALID_ID;
+            } else if (existedBefore[i]) {
+                outcomes[i] = BatchOutcome.ALREADY_EXISTS;
+            } else if (graph.containsVertex(vertexId)) {
+                outcomes[i] = BatchOutcome.DUPLICATE_IN_BATCH;
+            } else {
+                graph.addVertex(new GraphNode(vertexId));
+                outcomes[i] = BatchOutcome.APPLIED;
+            }
+        }
+
+        return outcomes;
+    }
+
+
+    // Рёбра группируются по источнику сортировкой подсчётом; для каждой вершины-источника
+    // список смежности просматривается один раз, дубликаты отсекаются по массиву отметок
+    public static BatchOutcome[] addEdges(GraphDescriptor graph, int[] sourceIds, int[] targetIds) {
+        validateGraphNotNull(graph);
+        if (sourceIds == null || targetIds == null || sourceIds.length != targetIds.length) {
+            throw new IllegalArgumentException("Массивы начальных и конечных вершин должны иметь одинаковую длину");
+        }
+
+        int itemCount = sourceIds.length;
+        int idBound = graph.getIdBound();
+        BatchOutcome[] outcomes = new BatchOutcome[itemCount];
+
+        int[] offsets = new int[idBound + 1];
+        for (int i = 0; i < itemCount; i++) {
+            if (!graph.containsVertex(sourceIds[i]) || !graph.containsVertex(targetIds[i])) {
+                outcomes[i] = BatchOutcome.VERTEX_NOT_FOUND;
+            } else {
+                offsets[sourceIds[i] + 1]++;
+            }
+        }
+        for (int v = 0; v < idBound; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        int[] grouped = new int[offsets[idBound]];
+        int[] positions = Arrays.copyOf(offsets, idBound);
+        for (int i = 0; i < itemCount; i++) {
+            if (outcomes[i] == null) {
+                grouped[positions[sourceIds[i]]++] = i;
+            }
+        }
+
+        int[] marks = new int[idBound];
+        int[] newTargets = new int[16];
+        int stamp = 0;
+
+        for (int v = 0; v < idBound; v++) {
+            int from = offsets[v];
+            int to = offsets[v + 1];
+            if (from == to) {
+                continue;
+            }
+
+            int existingStamp = ++stamp;
+            int addedStamp = ++stamp;
+            GraphNode sourceVertex = graph.findVertex(v);
+            EdgeIndex edgeIndex = sourceVertex.getEdgeIndex();
+            if (edgeIndex == null) {
+                for (EdgeNode edge = sourceVertex.getFirstEdge(); edge != null; edge = edge.getNextEdge()) {
+                    marks[edge.getTargetNode().getId()] = existingStamp;
+                }
+            }
+
+            if (newTargets.length < to - from) {
+                newTargets = new int[to - from];
+            }
+
+            int newCount = 0;
+            for (int k = from; k < to; k++) {
+                int item = grouped[k];
+                int target = targetIds[item];
+                if (marks[target] == existingStamp || (edgeIndex != null && edgeIndex.contains(target))) {
+                    outcomes[item] = BatchOutcome.ALREADY_EXISTS;
+                } else if (marks[target] == addedStamp) {
+                    outcomes[item] = BatchOutcome.DUPLICATE_IN_BATCH;
+                } else {
+                    marks[target] = addedStamp;
+                    newTargets[newCount++] = target;
+                    outcomes[item] = BatchOutcome.APPLIED;
+                }
+            }
+
+            appendEdges(graph, v, newTargets, 0, newCount);
+        }
+
+        return outcomes;
+    }
+
+
+    // Вершины удаляются из списка одним проходом; без обратного индекса
+    // рёбра к удалённым вершинам вычищаются также за один общий проход
+    public static BatchOutcome[] deleteVertices(GraphDescriptor graph, int[] vertexIds) {
+        validateGraphNotNull(graph);
+        if (vertexIds == null) {
+            throw new IllegalArgumentException("Массив вершин не может быть null");
+        }
+
+        BatchOutcome[] outcomes = new BatchOutcome[vertexIds.length];
+        boolean[] marked = new boolean[graph.getIdBound()];
+        GraphNode[] deleted = new GraphNode[vertexIds.length];
+        int deletedCount = 0;
+
+        for (int i = 0; i < vertexIds.length; i++) {
+            GraphNode vertex = graph.findVertex(vertexIds[i]);
+            if (vertex == null) {
+                outcomes[i] = BatchOutcome.VERTEX_NOT_FOUND;
+            } else if (marked[vertexIds[i]]) {
+                outcomes[i] = BatchOutcome.DUPLICATE_IN_BATCH;
+            } else {
+                marked[vertexIds[i]] = true;
+                deleted[deletedCount++] = vertex;
+                outcomes[i] = BatchOutcome.APPLIED;
+            }
+        }
+
+        if (deletedCount == 0) {
+            return outcomes;
+        }
+
+        for (int i = 0; i < deletedCount; i++) {
+            detachOutgoingEdges(graph, deleted[i]);
+        }
+
+        if (graph.isReverseIndexEnabled()) {
+            for (int i = 0; i < deletedCount; i++) {
+                removeEdgesToVertexIndexed(graph, deleted[i]);
+            }
         } else {
-            while (currentNode != null && currentNode.getNextDataNode() != vertexToDelete) {
-                currentNode = currentNode.getNextDataNode();
+            for (GraphNode node = graph.getFirstNode(); node != null; node = node.getNextDataNode()) {
+                removeEdgesToMarked(graph, node, marked);
+            }
+        }
+
+        graph.deleteVertices(marked);
+        return outcomes;
+    }
+
+
+    public static void enableReverseIndex(GraphDescriptor graph) {
+        validateGraphNotNull(graph);
+
+        if (graph.isReverseIndexEnabled()) {
+            return;
+        }
+
+        graph.setReverseIndexEnabled(true);
+        GraphNode currentNode = graph.getFirstNode();
+        while (currentNode != null) {
+            EdgeNode currentEdge = currentNode.getFirstEdge();
+            while (currentEdge != null) {
+                linkIncomingEdge(graph, currentNode, currentEdge);
+                currentEdge = currentEdge.getNextEdge();
             }
-            if (currentNode != null) {
-                currentNode.setNextDataNode(vertexToDelete.getNextDataNode());
+            currentNode = currentNode.getNextDataNode();
+        }
+    }
+
+
+    public static void disableReverseIndex(GraphDescriptor graph) {
+        validateGraphNotNull(graph);
+
+        graph.setReverseIndexEnabled(false);
+        GraphNode currentNode = graph.getFirstNode();
+        while (currentNode != null) {
+            currentNode.setFirstInEdge(null);
+            for (EdgeNode edge = currentNode.getFirstEdge(); edge != null; edge = edge.getNextEdge()) {
+                edge.setTwinEdge(null);
             }
+            currentNode = currentNode.getNextDataNode();
         }
+    }
 
-        removeEdgesToVertex(graph, vertexToDelete);
 
-        graph.decrementVertexCount();
+    // Степени поддерживаются при каждом изменении графа, поэтому не требуют обхода
+    public static int inDegree(GraphDescriptor graph, int vertexId) {
+        validateGraphNotEmpty(graph, "Граф пуст");
+        return validateAndGetVertex(graph, vertexId).getInDegree();
+    }
+
+
+    public static int outDegree(GraphDescriptor graph, int vertexId) {
+        validateGraphNotEmpty(graph, "Граф пуст");
+        return validateAndGetVertex(graph, vertexId).getOutDegree();
     }
 
 
-    public static boolean findEdge(GraphDescriptor graph, char sourceVertex, char targetVertex) {
+    public static int[] predecessors(GraphDescriptor graph, int vertexId) {
+        int[] result = new int[inDegree(graph, vertexId)];
+        GraphNode vertex = graph.findVertex(vertexId);
+        int count = 0;
+
+        if (graph.isReverseIndexEnabled()) {
+            for (EdgeNode edge = vertex.getFirstInEdge(); edge != null; edge = edge.getNextEdge()) {
+                result[count++] = edge.getTargetNode().getId();
+            }
+            return result;
+        }
+
+        for (GraphNode node = graph.getFirstNode(); node != null; node = node.getNextDataNode()) {
+            for (EdgeNode edge = node.getFirstEdge(); edge != null; edge = edge.getNextEdge()) {
+                if (edge.getTargetNode() == vertex) {
+                    result[count++] = node.getId();
+                }
+            }
+        }
+        return result;
+    }
+
+
+    public static boolean findEdge(GraphDescriptor graph, int sourceVertex, int targetVertex) {
         if (graph == null || graph.isEmpty()) {
             return false;
         }
 
-        GraphNode source = findVertexByLabel(graph, sourceVertex);
+        GraphNode source = graph.findVertex(sourceVertex);
         if (source == null) {
             return false;
         }
 
-        GraphNode target = findVertexByLabel(graph, targetVertex);
+        GraphNode target = graph.findVertex(targetVertex);
         if (target == null) {
             return false;
         }
 
+        long started = GraphMetrics.start();
+        EdgeIndex edgeIndex = source.getEdgeIndex();
+        if (edgeIndex != null) {
+            boolean found = edgeIndex.contains(targetVertex);
+            GraphMetrics.record(Operation.FIND_EDGE, started, 1, sourceVertex);
+            return found;
+        }
+
+        int scanned = 0;
         EdgeNode currentEdge = source.getFirstEdge();
         while (currentEdge != null) {
+            scanned++;
             if (currentEdge.getTargetNode() == target) {
+                GraphMetrics.record(Operation.FIND_EDGE, started, scanned, sourceVertex);
                 return true;
             }
             currentEdge = currentEdge.getNextEdge();
         }
 
+        GraphMetrics.record(Operation.FIND_EDGE, started, scanned, sourceVertex);
         return false;
     }
 
 
+    // Проверка ребра без учёта в метриках — для внутренних проверок и повторных попыток
+    public static boolean containsEdge(GraphDescriptor graph, int sourceVertex, int targetVertex) {
+        if (graph == null) {
+            return false;
+        }
+        GraphNode source = graph.findVertex(sourceVertex);
+        GraphNode target = graph.findVertex(targetVertex);
+        return source != null && target != null && findEdgeNode(source, target) != null;
+    }
+
+
+    // Вывод идёт через буфер и сбрасывается в System.out один раз в конце,
+    // а не по одному элементу; списки смежности пишет GraphExporter
     public static void printGraph(GraphDescriptor graph) {
         if (graph == null || graph.isEmpty()) {
             System.out.println("Граф пуст");
             return;
         }
 
-        System.out.println("\nСТРУКТУРА ГРАФА");
-        System.out.println("Вершин: " + graph.getVertexCount());
+        PrintWriter out = consoleWriter();
+        out.println("\nСТРУКТУРА ГРАФА");
+        out.println("Вершин: " + graph.getVertexCount());
+        try {
+            GraphExporter.export(graph, ExportFormat.ADJACENCY, out);
+        } catch (IOException e) {
+            // PrintWriter не бросает IOException, ошибки вывода он только запоминает
+            throw new UncheckedIOException(e);
+        }
+        out.println();
+        out.flush();
+    }
+
+
+    public static long countEdges(GraphDescriptor graph) {
+        if (graph == null || graph.isEmpty()) {
+            return 0;
+        }
+        return graph.getEdgeCount();
+    }
+
+
+    public static void printGraphDetails(GraphDescriptor graph) {
+        if (graph == null || graph.isEmpty()) {
+            System.out.println("Граф пуст");
+            return;
+        }
+
+        PrintWriter out = consoleWriter();
+        out.println("\nПОДРОБНАЯ ИНФОРМАЦИЯ О ГРАФЕ");
+        out.println("Вершин: " + graph.getVertexCount());
+        out.println("Рёбер: " + countEdges(graph));
+        out.printf("Средняя степень: %.2f%n", graph.getAverageDegree());
+        out.println("Максимальная полустепень исхода: " + graph.getMaxOutDegree());
+        out.println("Максимальная полустепень захода: " + graph.getMaxInDegree());
 
         GraphNode currentNode = graph.getFirstNode();
         while (currentNode != null) {
-            System.out.print(currentNode.getData());
+            out.println("\nВершина: " + graph.labelOf(currentNode));
 
             EdgeNode currentEdge = currentNode.getFirstEdge();
             if (currentEdge == null) {
-                System.out.println(" -> нет связей");
+                out.println("  Рёбра: нет");
             } else {
-                System.out.print(" -> ");
-
+                out.println("  Рёбра:");
                 while (currentEdge != null) {
-                    System.out.print(currentEdge.getTargetNode().getData());
+                    out.println("    " + graph.labelOf(currentNode) + " -> " +
+                            graph.labelOf(currentEdge.getTargetNode()));
                     currentEdge = currentEdge.getNextEdge();
-                    if (currentEdge != null) {
-                        System.out.print(", ");
-                    }
                 }
-                System.out.println();
             }
 
             currentNode = currentNode.getNextDataNode();
         }
-        System.out.println();
+        out.println();
+        out.flush();
     }
 
 
-    public static int countEdges(GraphDescriptor graph) {
-        if (graph == null || graph.isEmpty()) {
-            return 0;
+    private static PrintWriter consoleWriter() {
+        return new PrintWriter(new BufferedWriter(
+                new OutputStreamWriter(System.out, Charset.defaultCharset()), CONSOLE_BUFFER_SIZE), false);
+    }
+
+
+    // Собирает списки смежности вершин [from, to) новой нумерации, их исходящие степени
+    // и индексы хабов, не трогая счётчики графа; диапазон делится, пока в нём больше
+    // ROW_GRAIN ячеек матрицы. Столбцы обходятся в новой нумерации, поэтому списки
+    // отсортированы по id соседей
+    @SuppressWarnings("serial")
+    private static final class MatrixRowsTask extends RecursiveAction {
+        private final int[][] matrix;
+        private final int[] oldIds;
+        private final GraphNode[] nodes;
+        private final int from;
+        private final int to;
+
+        MatrixRowsTask(int[][] matrix, int[] oldIds, GraphNode[] nodes, int from, int to) {
+            this.matrix = matrix;
+            this.oldIds = oldIds;
+            this.nodes = nodes;
+            this.from = from;
+            this.to = to;
         }
 
-        int edgeCount = 0;
-        GraphNode currentNode = graph.getFirstNode();
+        @Override
+        protected void compute() {
+            if ((long) (to - from) * nodes.length > ROW_GRAIN && to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new MatrixRowsTask(matrix, oldIds, nodes, from, middle),
+                        new MatrixRowsTask(matrix, oldIds, nodes, middle, to));
+                return;
+            }
 
-        while (currentNode != null) {
-            EdgeNode currentEdge = currentNode.getFirstEdge();
-            while (currentEdge != null) {
-                edgeCount++;
-                currentEdge = currentEdge.getNextEdge();
+            for (int i = from; i < to; i++) {
+                int[] row = matrix[oldIds == null ? i : oldIds[i]];
+                GraphNode sourceNode = nodes[i];
+                EdgeNode lastEdge = null;
+                int degree = 0;
+                for (int j = 0; j < nodes.length; j++) {
+                    if (row[oldIds == null ? j : oldIds[j]] != 1) {
+                        continue;
+                    }
+                    EdgeNode newEdge = new EdgeNode(nodes[j]);
+                    if (lastEdge == null) {
+                        sourceNode.setFirstEdge(newEdge);
+                    } else {
+                        lastEdge.setNextEdge(newEdge);
+                        newEdge.setPrevEdge(lastEdge);
+                    }
+                    lastEdge = newEdge;
+                    degree++;
+                }
+                sourceNode.setOutDegree(degree);
+
+                if (degree > HUB_DEGREE_THRESHOLD) {
+                    EdgeIndex edgeIndex = new EdgeIndex(degree);
+                    for (EdgeNode edge = sourceNode.getFirstEdge(); edge != null; edge = edge.getNextEdge()) {
+                        edgeIndex.put(edge.getTargetNode().getId(), edge);
+                    }
+                    sourceNode.setEdgeIndex(edgeIndex);
+                }
             }
-            currentNode = currentNode.getNextDataNode();
         }
-
-        return edgeCount;
     }
 
 
-    public static void printGraphDetails(GraphDescriptor graph) {
-        if (graph == null || graph.isEmpty()) {
-            System.out.println("Граф пуст");
-            return;
+    // Входящие степени вершин [from, to) новой нумерации: каждая задача считает
+    // единицы в своём блоке столбцов по всем строкам, поэтому задачи не пишут
+    // в общие счётчики. Блок не уже COLUMN_BLOCK столбцов, чтобы каждое чтение
+    // строки приносило несколько нужных ячеек
+    @SuppressWarnings("serial")
+    private static final class MatrixColumnsTask extends RecursiveAction {
+        private final int[][] matrix;
+        private final int[] oldIds;
+        private final GraphNode[] nodes;
+        private final int from;
+        private final int to;
+
+        MatrixColumnsTask(int[][] matrix, int[] oldIds, GraphNode[] nodes, int from, int to) {
+            this.matrix = matrix;
+            this.oldIds = oldIds;
+            this.nodes = nodes;
+            this.from = from;
+            this.to = to;
         }
 
-        System.out.println("\nПОДРОБНАЯ ИНФОРМАЦИЯ О ГРАФЕ");
-        System.out.println("Вершин: " + graph.getVertexCount());
-        System.out.println("Рёбер: " + countEdges(graph));
-
-        GraphNode currentNode = graph.getFirstNode();
-        while (currentNode != null) {
-            System.out.println("\nВершина: " + currentNode.getData());
+        @Override
+        protected void compute() {
+            if ((long) (to - from) * nodes.length > ROW_GRAIN && to - from > 2 * COLUMN_BLOCK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new MatrixColumnsTask(matrix, oldIds, nodes, from, middle),
+                        new MatrixColumnsTask(matrix, oldIds, nodes, middle, to));
+                return;
+            }
 
-            EdgeNode currentEdge = currentNode.getFirstEdge();
-            if (currentEdge == null) {
-                System.out.println("  Рёбра: нет");
-            } else {
-                System.out.println("  Рёбра:");
-                while (currentEdge != null) {
-                    System.out.println("    " + currentNode.getData() + " -> " +
-                            currentEdge.getTargetNode().getData());
-                    currentEdge = currentEdge.getNextEdge();
+            int[] inDegrees = new int[to - from];
+            for (int[] row : matrix) {
+                for (int j = from; j < to; j++) {
+                    if (row[oldIds == null ? j : oldIds[j]] == 1) {
+                        inDegrees[j - from]++;
+                    }
                 }
             }
-
-            currentNode = currentNode.getNextDataNode();
+            for (int j = from; j < to; j++) {
+                nodes[j].setInDegree(inDegrees[j - from]);
+            }
         }
-        System.out.println();
     }
 }
@@ -0,0 +1,10 @@
+package operations;
+
+public enum GraphRepresentation {
+    // Связные списки смежности GraphDescriptor
+    LINKED,
+    // Битовая матрица для небольших плотных графов
+    BIT_MATRIX,
+    // Хеш-множества соседей для разреженных изменяемых графов
+    HASH
+}
@@ -0,0 +1,95 @@
+package operations;
+
+import data_structures.EdgeNode;
+import data_structures.Graph;
+import data_structures.GraphDescriptor;
+import data_structures.GraphNode;
+import lombok.Getter;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Реализация интерфейса Graph поверх связного представления GraphDescriptor.
+ * Все изменения выполняются через GraphOperations.
+ */
+@Getter
+public class LinkedGraph implements Graph {
+    private final GraphDescriptor descriptor;
+
+    public LinkedGraph() {
+        this(new GraphDescriptor());
+    }
+
+    public LinkedGraph(GraphDescriptor descriptor) {
+        if (descriptor == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
+        }
+        this.descriptor = descriptor;
+    }
+
+    @Override
+    public int getVertexCount() {
+        return descriptor.getVertexCount();
+    }
+
+    @Override
+    public int getIdBound() {
+        return descriptor.getIdBound();
+    }
+
+    @Override
+    public long getEdgeCount() {
+        return descriptor.getEdgeCount();
+    }
+
+    @Override
+    public boolean containsVertex(int vertexId) {
+        return descriptor.containsVertex(vertexId);
+    }
+
+    @Override
+    public void addVertex(int vertexId) {
+        GraphOperations.addVertex(descriptor, vertexId, null);
+    }
+
+    @Override
+    public void deleteVertex(int vertexId) {
+        GraphOperations.deleteVertex(descriptor, vertexId);
+    }
+
+    @Override
+    public void addEdge(int sourceId, int targetId) {
+        GraphOperations.addEdge(descriptor, sourceId, targetId);
+    }
+
+    @Override
+    public void removeEdge(int sourceId, int targetId) {
+        GraphOperations.removeEdge(descriptor, sourceId, targetId);
+    }
+
+    @Override
+    public void appendEdges(int sourceId, int[] targetIds, int offset, int count) {
+        GraphOperations.appendEdges(descriptor, sourceId, targetIds, offset, count);
+    }
+
+    @Override
+    public boolean findEdge(int sourceId, int targetId) {
+        return GraphOperations.findEdge(descriptor, sourceId, targetId);
+    }
+
+    @Override
+    public int outDegree(int vertexId) {
+        return GraphOperations.outDegree(descriptor, vertexId);
+    }
+
+    @Override
+    public void forEachNeighbour(int vertexId, IntConsumer action) {
+        GraphNode vertex = descriptor.findVertex(vertexId);
+        if (vertex == null) {
+            throw new IllegalArgumentException("Вершина " + descriptor.labelOf(vertexId) + " не найдена");
+        }
+        for (EdgeNode edge = vertex.getFirstEdge(); edge != null; edge = edge.getNextEdge()) {
+            action.accept(edge.getTargetNode().getId());
+        }
+    }
+}
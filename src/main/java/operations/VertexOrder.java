@@ -0,0 +1,12 @@
+package operations;
+
+public enum VertexOrder {
+    // Исходная нумерация без перестановки
+    NATURAL,
+    // По убыванию суммарной степени: хабы оказываются рядом в начале
+    DEGREE,
+    // Порядок обхода в ширину без учёта направления рёбер
+    BFS,
+    // Обратный порядок Катхилла–Макки: обход в ширину с соседями по возрастанию степени
+    REVERSE_CUTHILL_MCKEE
+}
@@ -0,0 +1,220 @@
+package operations;
+
+import data_structures.CsrGraph;
+import data_structures.GraphDescriptor;
+
+import java.util.Arrays;
+
+/**
+ * Перестановки вершин для улучшения локальности списков смежности.
+ * Результат — массив order, где order[newId] — прежний id вершины;
+ * перестановка применяется методом GraphOperations.renumber.
+ * Обходы не учитывают направление рёбер: соседями считаются
+ * и последователи, и предшественники вершины.
+ */
+public class VertexOrdering {
+
+    private VertexOrdering() {
+    }
+
+    public static int[] compute(GraphDescriptor graph, VertexOrder order) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
+        }
+        if (order == null) {
+            throw new IllegalArgumentException("Порядок вершин не может быть null");
+        }
+
+        if (order == VertexOrder.NATURAL) {
+            return natural(graph);
+        }
+        return compute(CsrGraph.fromDescriptor(graph), order);
+    }
+
+    // Перестановка по готовому снимку, например построенному прямо из матрицы смежности
+    public static int[] compute(CsrGraph graph, VertexOrder order) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
+        }
+        if (order == null) {
+            throw new IllegalArgumentException("Порядок вершин не может быть null");
+        }
+
+        switch (order) {
+            case NATURAL:
+                return natural(graph);
+            case DEGREE:
+                return byDegree(graph);
+            case BFS:
+                return breadthFirst(graph);
+            case REVERSE_CUTHILL_MCKEE:
+                return reverseCuthillMcKee(graph);
+            default:
+                throw new IllegalArgumentException("Неизвестный порядок вершин: " + order);
+        }
+    }
+
+    // Обратная перестановка: newIds[oldId] — новый id вершины или -1
+    public static int[] inverse(int[] order, int idBound) {
+        int[] newIds = new int[idBound];
+        Arrays.fill(newIds, -1);
+        for (int newId = 0; newId < order.length; newId++) {
+            newIds[order[newId]] = newId;
+        }
+        return newIds;
+    }
+
+    // Ширина ленты матрицы смежности: наибольшее |id(u) - id(v)| по рёбрам.
+    // Чем она меньше, тем ближе в памяти соседние вершины
+    public static int bandwidth(GraphDescriptor graph) {
+        CsrGraph csr = CsrGraph.fromDescriptor(graph);
+        int bandwidth = 0;
+        for (int v = 0; v < csr.getIdBound(); v++) {
+            for (int i = csr.neighbourStart(v); i < csr.neighbourEnd(v); i++) {
+                bandwidth = Math.max(bandwidth, Math.abs(csr.targetAt(i) - v));
+            }
+        }
+        return bandwidth;
+    }
+
+    private static int[] natural(GraphDescriptor graph) {
+        int[] order = new int[graph.getVertexCount()];
+        int count = 0;
+        for (int id = 0; id < graph.getIdBound(); id++) {
+            if (graph.containsVertex(id)) {
+                order[count++] = id;
+            }
+        }
+        return order;
+    }
+
+    private static int[] natural(CsrGraph graph) {
+        int[] order = new int[graph.getVertexCount()];
+        int count = 0;
+        for (int id = 0; id < graph.getIdBound(); id++) {
+            if (graph.containsVertex(id)) {
+                order[count++] = id;
+            }
+        }
+        return order;
+    }
+
+    // Ключ сортировки — степень в старших 32 битах, id — в младших;
+    // для убывания степень берётся с обратным знаком
+    private static int[] byDegree(CsrGraph outgoing) {
+        CsrGraph incoming = outgoing.transpose();
+        long[] keys = new long[outgoing.getVertexCount()];
+        int count = 0;
+        for (int v = 0; v < outgoing.getIdBound(); v++) {
+            if (outgoing.containsVertex(v)) {
+                int degree = outgoing.degree(v) + incoming.degree(v);
+                keys[count++] = ((long) (Integer.MAX_VALUE - degree) << 32) | v;
+            }
+        }
+        Arrays.sort(keys);
+        return lowBits(keys);
+    }
+
+    // Каждая компонента обходится от вершины с наименьшим id
+    private static int[] breadthFirst(CsrGraph outgoing) {
+        CsrGraph incoming = outgoing.transpose();
+        int[] order = new int[outgoing.getVertexCount()];
+        boolean[] visited = new boolean[outgoing.getIdBound()];
+        int tail = 0;
+
+        for (int start = 0; start < outgoing.getIdBound(); start++) {
+            if (!outgoing.containsVertex(start) || visited[start]) {
+                continue;
+            }
+            visited[start] = true;
+            order[tail++] = start;
+            for (int head = tail - 1; head < tail; head++) {
+                int v = order[head];
+                tail = visitNeighbours(outgoing, v, visited, order, tail);
+                tail = visitNeighbours(incoming, v, visited, order, tail);
+            }
+        }
+        return order;
+    }
+
+    private static int visitNeighbours(CsrGraph graph, int vertex, boolean[] visited, int[] queue, int tail) {
+        for (int i = graph.neighbourStart(vertex); i < graph.neighbourEnd(vertex); i++) {
+            int neighbour = graph.targetAt(i);
+            if (!visited[neighbour]) {
+                visited[neighbour] = true;
+                queue[tail++] = neighbour;
+            }
+        }
+        return tail;
+    }
+
+    // Каждая компонента обходится от непосещённой вершины наименьшей степени,
+    // новые соседи ставятся в очередь по возрастанию степени; итоговый порядок
+    // разворачивается. Так рёбра концентрируются у диагонали матрицы смежности
+    private static int[] reverseCuthillMcKee(CsrGraph outgoing) {
+        CsrGraph incoming = outgoing.transpose();
+        int idBound = outgoing.getIdBound();
+        int[] degrees = new int[idBound];
+        long[] starts = new long[outgoing.getVertexCount()];
+        int count = 0;
+        int maxDegree = 0;
+        for (int v = 0; v < idBound; v++) {
+            if (outgoing.containsVertex(v)) {
+                degrees[v] = outgoing.degree(v) + incoming.degree(v);
+                maxDegree = Math.max(maxDegree, degrees[v]);
+                starts[count++] = ((long) degrees[v] << 32) | v;
+            }
+        }
+        Arrays.sort(starts);
+
+        int[] order = new int[count];
+        boolean[] visited = new boolean[idBound];
+        long[] candidates = new long[maxDegree];
+        int tail = 0;
+
+        for (long start : starts) {
+            int startId = (int) start;
+            if (visited[startId]) {
+                continue;
+            }
+            visited[startId] = true;
+            order[tail++] = startId;
+            for (int head = tail - 1; head < tail; head++) {
+                int v = order[head];
+                int found = collectNeighbours(outgoing, v, visited, degrees, candidates, 0);
+                found = collectNeighbours(incoming, v, visited, degrees, candidates, found);
+                Arrays.sort(candidates, 0, found);
+                for (int i = 0; i < found; i++) {
+                    order[tail++] = (int) candidates[i];
+                }
+            }
+        }
+
+        for (int i = 0, j = count - 1; i < j; i++, j--) {
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        return order;
+    }
+
+    private static int collectNeighbours(CsrGraph graph, int vertex, boolean[] visited, int[] degrees,
+                                         long[] candidates, int found) {
+        for (int i = graph.neighbourStart(vertex); i < graph.neighbourEnd(vertex); i++) {
+            int neighbour = graph.targetAt(i);
+            if (!visited[neighbour]) {
+                visited[neighbour] = true;
+                candidates[found++] = ((long) degrees[neighbour] << 32) | neighbour;
+            }
+        }
+        return found;
+    }
+
+    private static int[] lowBits(long[] keys) {
+        int[] values = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = (int) keys[i];
+        }
+        return values;
+    }
+}
@@ -0,0 +1,74 @@
+package server;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Построчное чтение с ограничением длины строки. В отличие от
+ * BufferedReader.readLine, длина проверяется до того, как строка
+ * целиком окажется в памяти.
+ */
+class BoundedLineReader {
+
+    private final Reader in;
+    private final char[] buffer;
+    private final int maxLength;
+    private final StringBuilder line;
+    private int position;
+    private int limit;
+
+    BoundedLineReader(Reader in, int bufferSize, int maxLength) {
+        this.in = in;
+        this.buffer = new char[bufferSize];
+        this.maxLength = maxLength;
+        this.line = new StringBuilder();
+        this.position = 0;
+        this.limit = 0;
+    }
+
+    // Строка без перевода строки; null — конец потока
+    String readLine() throws IOException {
+        line.setLength(0);
+        while (true) {
+            if (position == limit) {
+                int read = in.read(buffer, 0, buffer.length);
+                if (read <= 0) {
+                    return line.length() == 0 ? null : line.toString();
+                }
+                position = 0;
+                limit = read;
+            }
+
+            int start = position;
+            while (position < limit && buffer[position] != '\n') {
+                position++;
+            }
+            if (line.length() + position - start > maxLength) {
+                throw new LineTooLongException();
+            }
+            line.append(buffer, start, position - start);
+
+            if (position < limit) {
+                position++;
+                int length = line.length();
+                if (length > 0 && line.charAt(length - 1) == '\r') {
+                    line.setLength(length - 1);
+                }
+                return line.toString();
+            }
+        }
+    }
+
+    // Есть ли уже прочитанные, но не разобранные данные
+    boolean ready() throws IOException {
+        return position < limit || in.ready();
+    }
+
+    static final class LineTooLongException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        LineTooLongException() {
+            super("Слишком длинный запрос");
+        }
+    }
+}
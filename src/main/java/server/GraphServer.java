@@ -0,0 +1,170 @@
+package server;
+
+import operations.ConcurrentGraph;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Сервер запросов к графу на локальном адресе. Каждое соединение обслуживает
+ * отдельный поток (виртуальный на JDK 21+). Протокол строковый, в кодировке UTF-8:
+ * одна строка — один запрос, ответы идут в том же порядке, по строке на запрос.
+ * Клиент может отправлять запросы, не дожидаясь ответов (конвейер): ответы
+ * копятся в буфере и отправляются, когда прочитанные запросы закончились.
+ *
+ * PING                   -> OK
+ * EDGE u v               -> 1 | 0
+ * ADD_EDGE u v           -> OK
+ * REMOVE_EDGE u v        -> OK
+ * ADD_VERTEX [v ...]     -> id новой вершины (следующий свободный)
+ * DELETE_VERTEX id       -> OK
+ * NEIGHBOURS id          -> n v1 ... vn
+ * DEGREE id              -> n
+ * HOPS u v               -> число рёбер кратчайшего пути или -1
+ * STATS                  -> вершин рёбер граница_id
+ * QUIT                   -> BYE и закрытие соединения
+ * Ошибка                 -> ERR сообщение
+ */
+public class GraphServer implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_LINE_LENGTH = 1 << 20;
+    // Пауза после ошибки accept удваивается до MAX_ACCEPT_BACKOFF_MILLIS
+    private static final long MAX_ACCEPT_BACKOFF_MILLIS = 1_000;
+
+    private final ConcurrentGraph graph;
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor;
+    private final Set<Socket> connections;
+    private final Thread acceptThread;
+    private volatile boolean closed;
+
+    private GraphServer(ConcurrentGraph graph, ServerSocket serverSocket) {
+        this.graph = graph;
+        this.serverSocket = serverSocket;
+        this.executor = Threads.perTaskExecutor();
+        this.connections = ConcurrentHashMap.newKeySet();
+        this.acceptThread = new Thread(this::acceptLoop, "graph-server-accept");
+        this.closed = false;
+    }
+
+    // port == 0 — свободный порт, выбранный системой (см. getPort)
+    public static GraphServer start(ConcurrentGraph graph, int port) throws IOException {
+        if (graph == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
+        }
+        if (port < 0 || port > 65_535) {
+            throw new IllegalArgumentException("Неверный порт: " + port);
+        }
+
+        ServerSocket serverSocket = new ServerSocket(port, 128, InetAddress.getLoopbackAddress());
+        GraphServer server = new GraphServer(graph, serverSocket);
+        server.acceptThread.start();
+        return server;
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public static boolean usesVirtualThreads() {
+        return Threads.virtualThreadsAvailable();
+    }
+
+    // Ожидает остановки сервера
+    public void join() throws InterruptedException {
+        acceptThread.join();
+    }
+
+    // Ошибка accept может повторяться (например, исчерпаны дескрипторы),
+    // поэтому после неё цикл делает паузу
+    private void acceptLoop() {
+        long backoffMillis = 0;
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connections.add(socket);
+                executor.execute(() -> serve(socket));
+                backoffMillis = 0;
+            } catch (IOException e) {
+                if (closed) {
+                    return;
+                }
+                System.out.println("Ошибка сервера: " + e.getMessage());
+                backoffMillis = Math.min(Math.max(backoffMillis * 2, 10), MAX_ACCEPT_BACKOFF_MILLIS);
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        RequestHandler handler = new RequestHandler(graph);
+        try (socket;
+             Reader input = new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8);
+             Writer out = new BufferedWriter(
+                     new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+
+            BoundedLineReader in = new BoundedLineReader(input, BUFFER_SIZE, MAX_LINE_LENGTH);
+            String line;
+            while ((line = readRequest(in, out)) != null) {
+                String response = handler.handle(line.trim());
+                out.write(response);
+                out.write('\n');
+
+                if (response.equals("BYE")) {
+                    break;
+                }
+                // Пока есть прочитанные запросы, ответы остаются в буфере
+                if (!in.ready()) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        } catch (SocketException e) {
+            // Клиент закрыл соединение или сервер остановлен
+        } catch (IOException e) {
+            if (!closed) {
+                System.out.println("Ошибка соединения: " + e.getMessage());
+            }
+        } finally {
+            connections.remove(socket);
+        }
+    }
+
+    // Слишком длинный запрос не дочитывается: клиент получает ошибку,
+    // а соединение закрывается
+    private static String readRequest(BoundedLineReader in, Writer out) throws IOException {
+        try {
+            return in.readLine();
+        } catch (BoundedLineReader.LineTooLongException e) {
+            out.write("ERR " + e.getMessage() + "\n");
+            return null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        try {
+            serverSocket.close();
+        } finally {
+            for (Socket socket : connections) {
+                socket.close();
+            }
+            executor.shutdown();
+        }
+    }
+}
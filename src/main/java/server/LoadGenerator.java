@@ -0,0 +1,211 @@
+package server;
+
+import metrics.LogHistogram;
+
+import java.io.*;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Клиент нагрузки для GraphServer: несколько соединений, в каждом запросы
+ * отправляются пачками по depth штук без ожидания ответов (конвейер).
+ * Время ответа считается от отправки пачки до получения ответа на запрос.
+ * Запросы — поиск рёбер между случайными вершинами, доля writePercent —
+ * добавление и удаление рёбер.
+ *
+ * Аргументы: host port [соединений] [запросов на соединение] [глубина конвейера] [процент записи]
+ */
+public class LoadGenerator {
+
+    private final String host;
+    private final int port;
+    private final int connections;
+    private final int requestsPerConnection;
+    private final int depth;
+    private final int writePercent;
+
+    public LoadGenerator(String host, int port, int connections, int requestsPerConnection,
+                         int depth, int writePercent) {
+        if (connections <= 0 || requestsPerConnection <= 0 || depth <= 0) {
+            throw new IllegalArgumentException("Число соединений, запросов и глубина конвейера должны быть положительными");
+        }
+        if (writePercent < 0 || writePercent > 100) {
+            throw new IllegalArgumentException("Процент записи должен быть от 0 до 100: " + writePercent);
+        }
+        this.host = host;
+        this.port = port;
+        this.connections = connections;
+        this.requestsPerConnection = requestsPerConnection;
+        this.depth = depth;
+        this.writePercent = writePercent;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.out.println("Использование: LoadGenerator host port [соединений] [запросов] [глубина] [процент записи]");
+            return;
+        }
+
+        LoadGenerator generator = new LoadGenerator(args[0], Integer.parseInt(args[1]),
+                args.length > 2 ? Integer.parseInt(args[2]) : 16,
+                args.length > 3 ? Integer.parseInt(args[3]) : 100_000,
+                args.length > 4 ? Integer.parseInt(args[4]) : 32,
+                args.length > 5 ? Integer.parseInt(args[5]) : 10);
+        System.out.println(generator.run());
+    }
+
+    public Report run() throws IOException, InterruptedException {
+        int idBound = queryIdBound();
+        if (idBound == 0) {
+            throw new IllegalArgumentException("Граф на сервере пуст");
+        }
+
+        LogHistogram latency = new LogHistogram();
+        AtomicLong errors = new AtomicLong();
+        ExecutorService executor = Threads.perTaskExecutor();
+        List<Future<?>> tasks = new ArrayList<>();
+
+        long started = System.nanoTime();
+        try {
+            for (int i = 0; i < connections; i++) {
+                long seed = 31L * i + 17;
+                tasks.add(executor.submit(() -> {
+                    runConnection(idBound, new SplittableRandom(seed), latency, errors);
+                    return null;
+                }));
+            }
+            for (Future<?> task : tasks) {
+                try {
+                    task.get();
+                } catch (ExecutionException e) {
+                    throw new IOException("Ошибка соединения: " + e.getCause().getMessage(), e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - started;
+
+        return new Report(latency.snapshot(), errors.get(), elapsed);
+    }
+
+    private int queryIdBound() throws IOException {
+        try (Socket socket = new Socket(host, port);
+             BufferedReader in = reader(socket);
+             Writer out = writer(socket)) {
+            out.write("STATS\n");
+            out.flush();
+            String response = in.readLine();
+            if (response == null || response.startsWith("ERR")) {
+                throw new IOException("Сервер не ответил на STATS");
+            }
+            return Integer.parseInt(response.substring(response.lastIndexOf(' ') + 1));
+        }
+    }
+
+    private void runConnection(int idBound, SplittableRandom random, LogHistogram latency, AtomicLong errors)
+            throws IOException {
+        try (Socket socket = new Socket(host, port);
+             BufferedReader in = reader(socket);
+             Writer out = writer(socket)) {
+            socket.setTcpNoDelay(true);
+
+            StringBuilder request = new StringBuilder(32);
+            int sent = 0;
+            while (sent < requestsPerConnection) {
+                int batch = Math.min(depth, requestsPerConnection - sent);
+                for (int i = 0; i < batch; i++) {
+                    request.setLength(0);
+                    int operation = random.nextInt(100);
+                    if (operation < writePercent) {
+                        request.append(operation % 2 == 0 ? "ADD_EDGE " : "REMOVE_EDGE ");
+                    } else {
+                        request.append("EDGE ");
+                    }
+                    request.append(random.nextInt(idBound)).append(' ').append(random.nextInt(idBound)).append('\n');
+                    out.append(request);
+                }
+                long batchStarted = System.nanoTime();
+                out.flush();
+
+                for (int i = 0; i < batch; i++) {
+                    String response = in.readLine();
+                    if (response == null) {
+                        throw new EOFException("Сервер закрыл соединение");
+                    }
+                    latency.record(System.nanoTime() - batchStarted);
+                    if (response.startsWith("ERR")) {
+                        errors.incrementAndGet();
+                    }
+                }
+                sent += batch;
+            }
+
+            out.write("QUIT\n");
+            out.flush();
+            in.readLine();
+        }
+    }
+
+    private static BufferedReader reader(Socket socket) throws IOException {
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    private static Writer writer(Socket socket) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    /**
+     * Итог прогона. Ответы ERR (например, повторное добавление ребра)
+     * считаются отдельно, но тоже входят в пропускную способность.
+     */
+    public static class Report {
+        private final LogHistogram.Snapshot latency;
+        private final long errors;
+        private final long elapsedNanos;
+
+        Report(LogHistogram.Snapshot latency, long errors, long elapsedNanos) {
+            this.latency = latency;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getRequests() {
+            return latency.getCount();
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public double getThroughput() {
+            return latency.getCount() * 1e9 / elapsedNanos;
+        }
+
+        public long getP50Nanos() {
+            return latency.percentile(0.5);
+        }
+
+        public long getP99Nanos() {
+            return latency.percentile(0.99);
+        }
+
+        public long getMaxNanos() {
+            return latency.getMax();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("запросов: %d (ошибок: %d) за %.2f с, %.0f запросов/с, p50 %.1f мкс, p99 %.1f мкс, max %.1f мкс",
+                    getRequests(), errors, elapsedNanos / 1e9, getThroughput(),
+                    getP50Nanos() / 1e3, getP99Nanos() / 1e3, getMaxNanos() / 1e3);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package server;
+
+import operations.ConcurrentGraph;
+import traversal.GraphTraversal;
+
+import java.util.Arrays;
+
+/**
+ * Разбор и выполнение одной строки запроса. Аргументы — целые id вершин,
+ * разделённые пробелами; ответ — одна строка без перевода строки.
+ */
+class RequestHandler {
+
+    static final String QUIT = "QUIT";
+    private static final int MAX_ARGUMENTS = 1 << 16;
+
+    private final ConcurrentGraph graph;
+    private int[] arguments;
+
+    RequestHandler(ConcurrentGraph graph) {
+        this.graph = graph;
+        this.arguments = new int[16];
+    }
+
+    String handle(String line) {
+        int commandEnd = line.indexOf(' ');
+        String command = commandEnd < 0 ? line : line.substring(0, commandEnd);
+        int count = parseArguments(line, commandEnd < 0 ? line.length() : commandEnd + 1);
+        if (count < 0) {
+            return "ERR Аргументы должны быть целыми числами";
+        }
+
+        try {
+            switch (command) {
+                case "PING":
+                    requireCount(count, 0);
+                    return "OK";
+                case "EDGE":
+                    requireCount(count, 2);
+                    return graph.findEdge(arguments[0], arguments[1]) ? "1" : "0";
+                case "ADD_EDGE":
+                    requireCount(count, 2);
+                    graph.addEdge(arguments[0], arguments[1]);
+                    return "OK";
+                case "REMOVE_EDGE":
+                    requireCount(count, 2);
+                    graph.removeEdge(arguments[0], arguments[1]);
+                    return "OK";
+                case "ADD_VERTEX":
+                    // id выбирает сервер: произвольный id клиента мог бы раздуть индекс вершин
+                    return Integer.toString(graph.addVertex(Arrays.copyOf(arguments, count)));
+                case "DELETE_VERTEX":
+                    requireCount(count, 1);
+                    graph.deleteVertex(arguments[0]);
+                    return "OK";
+                case "NEIGHBOURS":
+                    requireCount(count, 1);
+                    return joinWithCount(graph.neighbours(arguments[0]));
+                case "DEGREE":
+                    requireCount(count, 1);
+                    return Integer.toString(graph.degree(arguments[0]));
+                case "HOPS":
+                    requireCount(count, 2);
+                    return Integer.toString(graph.withReadLock(
+                            g -> GraphTraversal.hopDistance(g, arguments[0], arguments[1])));
+                case "STATS":
+                    requireCount(count, 0);
+                    return graph.withReadLock(g -> g.getVertexCount() + " " + g.getEdgeCount() + " " + g.getIdBound());
+                case QUIT:
+                    return "BYE";
+                default:
+                    return "ERR Неизвестная команда: " + command;
+            }
+        } catch (IllegalArgumentException e) {
+            return "ERR " + e.getMessage();
+        }
+    }
+
+    private static void requireCount(int count, int expected) {
+        if (count != expected) {
+            throw new IllegalArgumentException("Ожидается аргументов: " + expected);
+        }
+    }
+
+    // Возвращает число аргументов или -1, если встретилось не целое число
+    private int parseArguments(String line, int position) {
+        int count = 0;
+        int length = line.length();
+        while (position < length) {
+            char c = line.charAt(position);
+            if (c == ' ') {
+                position++;
+                continue;
+            }
+            if (count == arguments.length) {
+                if (count == MAX_ARGUMENTS) {
+                    return -1;
+                }
+                arguments = Arrays.copyOf(arguments, count * 2);
+            }
+
+            boolean negative = c == '-';
+            if (negative) {
+                position++;
+            }
+            long value = 0;
+            int start = position;
+            while (position < length && line.charAt(position) != ' ') {
+                char digit = line.charAt(position++);
+                if (digit < '0' || digit > '9') {
+                    return -1;
+                }
+                value = value * 10 + (digit - '0');
+                if (value > Integer.MAX_VALUE) {
+                    return -1;
+                }
+            }
+            if (position == start) {
+                return -1;
+            }
+            arguments[count++] = (int) (negative ? -value : value);
+        }
+        return count;
+    }
+
+    private static String joinWithCount(int[] values) {
+        StringBuilder builder = new StringBuilder(values.length * 6 + 4);
+        builder.append(values.length);
+        for (int value : values) {
+            builder.append(' ').append(value);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,27 @@
+package traversal;
+
+import lombok.Getter;
+
+/**
+ * Разбиение вершин на компоненты: componentOf[id] — номер компоненты вершины
+ * или -1, если вершины с таким id нет в графе.
+ */
+@Getter
+public class Components {
+    private final int[] componentOf;
+    private final int componentCount;
+
+    public Components(int[] componentOf, int componentCount) {
+        this.componentOf = componentOf;
+        this.componentCount = componentCount;
+    }
+
+    public int componentOf(int vertexId) {
+        return vertexId >= 0 && vertexId < componentOf.length ? componentOf[vertexId] : -1;
+    }
+
+    public boolean sameComponent(int firstId, int secondId) {
+        int component = componentOf(firstId);
+        return component >= 0 && component == componentOf(secondId);
+    }
+}
@@ -0,0 +1,126 @@
+package traversal;
+
+import data_structures.EdgeNode;
+import data_structures.GraphDescriptor;
+import data_structures.GraphNode;
+
+import java.util.Arrays;
+
+public class GraphTraversal {
+
+    public static final int UNREACHABLE = -1;
+
+    private static GraphNode validateAndGetVertex(GraphDescriptor graph, int vertexId) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
+        }
+        GraphNode vertex = graph.findVertex(vertexId);
+        if (vertex == null) {
+            throw new IllegalArgumentException("Вершина " + graph.labelOf(vertexId) + " не найдена");
+        }
+        return vertex;
+    }
+
+    static boolean testAndSet(long[] bits, int index) {
+        long mask = 1L << index;
+        int word = index >>> 6;
+        if ((bits[word] & mask) != 0) {
+            return false;
+        }
+        bits[word] |= mask;
+        return true;
+    }
+
+
+    // Расстояния в рёбрах от источника до всех вершин, индекс массива — id вершины
+    public static int[] bfs(GraphDescriptor graph, int sourceId) {
+        validateAndGetVertex(graph, sourceId);
+
+        int[] distances = new int[graph.getIdBound()];
+        Arrays.fill(distances, UNREACHABLE);
+        search(graph, sourceId, -1, distances);
+        return distances;
+    }
+
+
+    public static boolean isReachable(GraphDescriptor graph, int sourceId, int targetId) {
+        return hopDistance(graph, sourceId, targetId) != UNREACHABLE;
+    }
+
+
+    public static int hopDistance(GraphDescriptor graph, int sourceId, int targetId) {
+        validateAndGetVertex(graph, sourceId);
+        if (!graph.containsVertex(targetId)) {
+            return UNREACHABLE;
+        }
+
+        int[] distances = new int[graph.getIdBound()];
+        Arrays.fill(distances, UNREACHABLE);
+        return search(graph, sourceId, targetId, distances);
+    }
+
+
+    // Порядок посещения вершин при поиске в глубину; стек хранит текущее ребро каждой вершины
+    public static int[] dfs(GraphDescriptor graph, int sourceId) {
+        GraphNode source = validateAndGetVertex(graph, sourceId);
+
+        long[] visited = new long[(graph.getIdBound() + 63) >>> 6];
+        int[] order = new int[graph.getVertexCount()];
+        int orderSize = 0;
+
+        EdgeNode[] stack = new EdgeNode[16];
+        int depth = 0;
+
+        testAndSet(visited, sourceId);
+        order[orderSize++] = sourceId;
+        stack[depth++] = source.getFirstEdge();
+
+        while (depth > 0) {
+            EdgeNode edge = stack[depth - 1];
+            if (edge == null) {
+                depth--;
+                continue;
+            }
+            stack[depth - 1] = edge.getNextEdge();
+
+            GraphNode next = edge.getTargetNode();
+            if (testAndSet(visited, next.getId())) {
+                order[orderSize++] = next.getId();
+                if (depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth * 2);
+                }
+                stack[depth++] = next.getFirstEdge();
+            }
+        }
+
+        return Arrays.copyOf(order, orderSize);
+    }
+
+
+    private static int search(GraphDescriptor graph, int sourceId, int targetId, int[] distances) {
+        int[] queue = new int[graph.getVertexCount()];
+        int head = 0;
+        int tail = 0;
+
+        distances[sourceId] = 0;
+        queue[tail++] = sourceId;
+
+        while (head < tail) {
+            int current = queue[head++];
+            if (current == targetId) {
+                return distances[current];
+            }
+
+            int nextDistance = distances[current] + 1;
+            for (EdgeNode edge = graph.findVertex(current).getFirstEdge(); edge != null; edge = edge.getNextEdge()) {
+                int next = edge.getTargetNode().getId();
+                if (distances[next] == UNREACHABLE) {
+                    distances[next] = nextDistance;
+                    queue[tail++] = next;
+                }
+            }
+        }
+
+        return UNREACHABLE;
+    }
+}
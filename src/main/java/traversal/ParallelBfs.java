@@ -0,0 +1,247 @@
+package traversal;
+
+import data_structures.EdgeNode;
+import data_structures.GraphDescriptor;
+import data_structures.GraphNode;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Поуровневый параллельный поиск в ширину на ForkJoinPool с выбором направления:
+ * пока фронт мал, вершины фронта раздают метки соседям (top-down),
+ * когда фронт становится большим, непосещённые вершины сами ищут родителя
+ * во фронте по входящим рёбрам (bottom-up). Шаг bottom-up доступен только
+ * при включённом обратном индексе. Граф не должен изменяться во время обхода.
+ */
+public class ParallelBfs {
+
+    private static final int CHUNK_SIZE = 256;
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+
+    private final ForkJoinPool pool;
+
+    public ParallelBfs() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelBfs(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public int[] distances(GraphDescriptor graph, int sourceId) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
+        }
+        if (!graph.containsVertex(sourceId)) {
+            throw new IllegalArgumentException("Вершина " + graph.labelOf(sourceId) + " не найдена");
+        }
+
+        Level level = new Level(graph);
+        level.visit(sourceId, 0);
+        level.frontier[0] = sourceId;
+        level.frontierSize = 1;
+
+        long unexploredEdges = countEdges(level.nodes);
+        boolean bottomUp = false;
+        int depth = 0;
+
+        while (level.frontierSize > 0) {
+            long frontierEdges = 0;
+            for (int i = 0; i < level.frontierSize; i++) {
+                frontierEdges += level.nodes[level.frontier[i]].getOutDegree();
+            }
+
+            if (graph.isReverseIndexEnabled()) {
+                if (!bottomUp && frontierEdges > unexploredEdges / ALPHA) {
+                    bottomUp = true;
+                } else if (bottomUp && level.frontierSize < level.nodes.length / BETA) {
+                    bottomUp = false;
+                }
+            }
+            unexploredEdges -= frontierEdges;
+
+            level.nextSize.set(0);
+            if (bottomUp) {
+                level.markFrontier();
+                pool.invoke(new BottomUpTask(level, depth + 1, 0, level.nodes.length));
+            } else {
+                pool.invoke(new TopDownTask(level, depth + 1, 0, level.frontierSize));
+            }
+
+            level.swap();
+            depth++;
+        }
+
+        return level.distances;
+    }
+
+    private static long countEdges(GraphNode[] nodes) {
+        long edges = 0;
+        for (GraphNode node : nodes) {
+            if (node != null) {
+                edges += node.getOutDegree();
+            }
+        }
+        return edges;
+    }
+
+    private static final class Level {
+        final GraphNode[] nodes;
+        final int[] distances;
+        final AtomicLongArray visited;
+        final long[] frontierBits;
+        int[] frontier;
+        int frontierSize;
+        int[] next;
+        final AtomicInteger nextSize;
+
+        Level(GraphDescriptor graph) {
+            int idBound = graph.getIdBound();
+            this.nodes = new GraphNode[idBound];
+            for (GraphNode node = graph.getFirstNode(); node != null; node = node.getNextDataNode()) {
+                nodes[node.getId()] = node;
+            }
+
+            this.distances = new int[idBound];
+            Arrays.fill(distances, GraphTraversal.UNREACHABLE);
+            this.visited = new AtomicLongArray((idBound + 63) >>> 6);
+            this.frontierBits = new long[(idBound + 63) >>> 6];
+            this.frontier = new int[idBound];
+            this.next = new int[idBound];
+            this.nextSize = new AtomicInteger();
+        }
+
+        boolean visit(int vertexId, int distance) {
+            int word = vertexId >>> 6;
+            long mask = 1L << vertexId;
+            while (true) {
+                long current = visited.get(word);
+                if ((current & mask) != 0) {
+                    return false;
+                }
+                if (visited.compareAndSet(word, current, current | mask)) {
+                    distances[vertexId] = distance;
+                    return true;
+                }
+            }
+        }
+
+        boolean isVisited(int vertexId) {
+            return (visited.get(vertexId >>> 6) & (1L << vertexId)) != 0;
+        }
+
+        void markFrontier() {
+            Arrays.fill(frontierBits, 0);
+            for (int i = 0; i < frontierSize; i++) {
+                frontierBits[frontier[i] >>> 6] |= 1L << frontier[i];
+            }
+        }
+
+        void publish(int[] buffer, int count) {
+            if (count > 0) {
+                int base = nextSize.getAndAdd(count);
+                System.arraycopy(buffer, 0, next, base, count);
+            }
+        }
+
+        void swap() {
+            int[] previous = frontier;
+            frontier = next;
+            frontierSize = nextSize.get();
+            next = previous;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class TopDownTask extends RecursiveAction {
+        private final Level level;
+        private final int distance;
+        private final int from;
+        private final int to;
+
+        TopDownTask(Level level, int distance, int from, int to) {
+            this.level = level;
+            this.distance = distance;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK_SIZE) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new TopDownTask(level, distance, from, middle),
+                        new TopDownTask(level, distance, middle, to));
+                return;
+            }
+
+            int[] buffer = new int[64];
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                GraphNode node = level.nodes[level.frontier[i]];
+                for (EdgeNode edge = node.getFirstEdge(); edge != null; edge = edge.getNextEdge()) {
+                    int target = edge.getTargetNode().getId();
+                    if (!level.isVisited(target) && level.visit(target, distance)) {
+                        if (count == buffer.length) {
+                            buffer = Arrays.copyOf(buffer, count * 2);
+                        }
+                        buffer[count++] = target;
+                    }
+                }
+            }
+            level.publish(buffer, count);
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class BottomUpTask extends RecursiveAction {
+        private final Level level;
+        private final int distance;
+        private final int from;
+        private final int to;
+
+        BottomUpTask(Level level, int distance, int from, int to) {
+            this.level = level;
+            this.distance = distance;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK_SIZE * 16) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new BottomUpTask(level, distance, from, middle),
+                        new BottomUpTask(level, distance, middle, to));
+                return;
+            }
+
+            int[] buffer = new int[64];
+            int count = 0;
+            long[] frontierBits = level.frontierBits;
+            for (int v = from; v < to; v++) {
+                GraphNode node = level.nodes[v];
+                if (node == null || level.isVisited(v)) {
+                    continue;
+                }
+                for (EdgeNode edge = node.getFirstInEdge(); edge != null; edge = edge.getNextEdge()) {
+                    int parent = edge.getTargetNode().getId();
+                    if ((frontierBits[parent >>> 6] & (1L << parent)) != 0) {
+                        level.visit(v, distance);
+                        if (count == buffer.length) {
+                            buffer = Arrays.copyOf(buffer, count * 2);
+                        }
+                        buffer[count++] = v;
+                        break;
+                    }
+                }
+            }
+            level.publish(buffer, count);
+        }
+    }
+}
@@ -0,0 +1,546 @@
+package traversal;
+
+import data_structures.BitMatrix;
+import data_structures.EdgeNode;
+import data_structures.GraphChangeListener;
+import data_structures.GraphDescriptor;
+import data_structures.GraphNode;
+import operations.ConcurrentGraph;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Индекс достижимости по графу компонент сильной связности (конденсации).
+ * Если компонент не больше MAX_CLOSURE_COMPONENTS, строится транзитивное замыкание
+ * конденсации в BitMatrix и запрос отвечает за O(1). Иначе каждой компоненте
+ * назначаются два интервала post-order из обходов в глубину в разном порядке детей
+ * и уровень в DAG: если интервал цели не вложен в интервал источника или уровень
+ * цели не больше, ответ «нет» без обхода; остальные запросы решает обход в глубину
+ * с отсечением по тем же меткам, а его результаты хранятся в кэше фиксированного размера.
+ * Индекс подписан на изменения графа, но подписчик только ставит изменение в очередь:
+ * при следующем запросе новая вершина и ребро, не меняющее компоненты, учитываются
+ * на месте, остальные изменения вызывают перестроение.
+ * Индекс над GraphDescriptor читает граф без блокировок, поэтому запросы нельзя
+ * выполнять одновременно с изменениями графа. Индекс над ConcurrentGraph перестраивается
+ * внутри withReadLock и может опрашиваться параллельно с записью.
+ */
+public class ReachabilityIndex implements GraphChangeListener, AutoCloseable {
+
+    public static final int DEFAULT_CACHE_SIZE = 4096;
+    public static final int MAX_CACHE_SIZE = 1 << 24;
+    // 16384 x 16384 бит — 32 МБ
+    public static final int MAX_CLOSURE_COMPONENTS = 16_384;
+    // После стольких изменений в очереди дешевле перестроить индекс
+    private static final int MAX_PENDING_CHANGES = 1 << 16;
+    // Старшая половина события добавления вершины
+    private static final int VERTEX_EVENT = -1;
+    private static final long EMPTY_KEY = -1;
+
+    private final GraphDescriptor graph;
+    private final ConcurrentGraph sharedGraph;
+
+    // Кэш с прямым отображением: ключ (источник, цель) занимает одну ячейку,
+    // новый результат вытесняет старый
+    private final long[] cacheKeys;
+    private final boolean[] cacheValues;
+
+    // Очередь изменений от подписчика; защищена pendingLock, а не монитором индекса,
+    // так как подписчик вызывается внутри блокировок графа
+    private final Object pendingLock;
+    private long[] pendingChanges;
+    private int pendingCount;
+    private boolean stale;
+
+    private int[] componentOf;
+    private int componentCount;
+
+    // Режим замыкания: строка c — компоненты, достижимые из c
+    private BitMatrix closure;
+
+    // Интервальный режим: рёбра конденсации в формате CSR и метки компонент
+    private int[] dagOffsets;
+    private int[] dagTargets;
+    private int[] level;
+    private int[][] low;
+    private int[][] post;
+    private int nextPost;
+    private int[] visited;
+    private int visitStamp;
+    private int[] stack;
+
+    public ReachabilityIndex(GraphDescriptor graph) {
+        this(graph, DEFAULT_CACHE_SIZE);
+    }
+
+    public ReachabilityIndex(GraphDescriptor graph, int cacheSize) {
+        this(graph, null, cacheSize);
+    }
+
+    public ReachabilityIndex(ConcurrentGraph graph) {
+        this(graph, DEFAULT_CACHE_SIZE);
+    }
+
+    public ReachabilityIndex(ConcurrentGraph graph, int cacheSize) {
+        this(descriptorOf(graph), graph, cacheSize);
+    }
+
+    private ReachabilityIndex(GraphDescriptor graph, ConcurrentGraph sharedGraph, int cacheSize) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
+        }
+        if (cacheSize < 0 || cacheSize > MAX_CACHE_SIZE) {
+            throw new IllegalArgumentException("Неверный размер кэша: " + cacheSize);
+        }
+        int capacity = cacheSize <= 1 ? cacheSize : Integer.highestOneBit(cacheSize - 1) << 1;
+
+        this.graph = graph;
+        this.sharedGraph = sharedGraph;
+        this.cacheKeys = new long[capacity];
+        this.cacheValues = new boolean[capacity];
+        this.pendingLock = new Object();
+        this.pendingChanges = new long[16];
+        this.stale = true;
+        Arrays.fill(cacheKeys, EMPTY_KEY);
+        graph.addChangeListener(this);
+    }
+
+    private static GraphDescriptor descriptorOf(ConcurrentGraph graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
+        }
+        return graph.withReadLock(Function.identity());
+    }
+
+    public synchronized boolean canReach(int sourceId, int targetId) {
+        refresh();
+        if (!indexed(sourceId)) {
+            throw new IllegalArgumentException("Вершина " + graph.labelOf(sourceId) + " не найдена");
+        }
+        if (!indexed(targetId)) {
+            return false;
+        }
+        return reaches(componentOf[sourceId], componentOf[targetId]);
+    }
+
+    // true — запросы отвечают по транзитивному замыканию
+    public synchronized boolean usesClosure() {
+        refresh();
+        return closure != null;
+    }
+
+    @Override
+    public void close() {
+        graph.removeChangeListener(this);
+    }
+
+    @Override
+    public void vertexAdded(int vertexId) {
+        enqueue(((long) VERTEX_EVENT << 32) | vertexId);
+    }
+
+    @Override
+    public void vertexDeleted(int vertexId) {
+        markStale();
+    }
+
+    @Override
+    public void edgeAdded(int sourceId, int targetId) {
+        enqueue(((long) sourceId << 32) | targetId);
+    }
+
+    @Override
+    public void edgeRemoved(int sourceId, int targetId) {
+        markStale();
+    }
+
+    // Подписчик выполняет только O(1) работы: обновление индекса откладывается до запроса
+    private void enqueue(long change) {
+        synchronized (pendingLock) {
+            if (stale) {
+                return;
+            }
+            if (pendingCount == MAX_PENDING_CHANGES) {
+                stale = true;
+                pendingCount = 0;
+                return;
+            }
+            if (pendingCount == pendingChanges.length) {
+                pendingChanges = Arrays.copyOf(pendingChanges, pendingCount * 2);
+            }
+            pendingChanges[pendingCount++] = change;
+        }
+    }
+
+    private void markStale() {
+        synchronized (pendingLock) {
+            stale = true;
+            pendingCount = 0;
+        }
+    }
+
+    // Применяет накопленные изменения; если какое-то из них требует перестроения
+    // или индекс устарел, строит его заново
+    private void refresh() {
+        while (true) {
+            long[] changes;
+            synchronized (pendingLock) {
+                if (stale) {
+                    changes = null;
+                } else if (pendingCount == 0) {
+                    return;
+                } else {
+                    changes = Arrays.copyOf(pendingChanges, pendingCount);
+                    pendingCount = 0;
+                }
+            }
+
+            if (changes == null) {
+                rebuild();
+                continue;
+            }
+            for (long change : changes) {
+                int source = (int) (change >> 32);
+                int target = (int) change;
+                if (source == VERTEX_EVENT) {
+                    applyVertexAdded(target);
+                } else {
+                    applyEdgeAdded(source, target);
+                }
+                if (closure == null && dagOffsets == null) {
+                    // Изменение потребовало перестроения, остальные войдут в новый снимок
+                    break;
+                }
+            }
+        }
+    }
+
+    private boolean indexed(int vertexId) {
+        return vertexId >= 0 && vertexId < componentOf.length && componentOf[vertexId] >= 0;
+    }
+
+    private void applyVertexAdded(int vertexId) {
+        // Новая вершина — отдельная компонента без рёбер
+        int component = componentCount++;
+        if (vertexId >= componentOf.length) {
+            int oldLength = componentOf.length;
+            componentOf = Arrays.copyOf(componentOf, Math.max(vertexId + 1, oldLength * 2));
+            Arrays.fill(componentOf, oldLength, componentOf.length, -1);
+        }
+        componentOf[vertexId] = component;
+
+        if (closure != null) {
+            if (component >= closure.getSize()) {
+                if (component >= MAX_CLOSURE_COMPONENTS) {
+                    invalidate();
+                    return;
+                }
+                closure.resize(Math.min(MAX_CLOSURE_COMPONENTS, Math.max(component + 1, closure.getSize() * 2)));
+            }
+            closure.set(component, component);
+            return;
+        }
+
+        if (component >= level.length) {
+            int capacity = Math.max(component + 1, level.length * 2);
+            level = Arrays.copyOf(level, capacity);
+            visited = Arrays.copyOf(visited, capacity);
+            stack = Arrays.copyOf(stack, capacity);
+            int[] offsets = Arrays.copyOf(dagOffsets, capacity + 1);
+            Arrays.fill(offsets, dagOffsets.length, offsets.length, dagOffsets[dagOffsets.length - 1]);
+            dagOffsets = offsets;
+            for (int labeling = 0; labeling < post.length; labeling++) {
+                low[labeling] = Arrays.copyOf(low[labeling], capacity);
+                post[labeling] = Arrays.copyOf(post[labeling], capacity);
+            }
+        }
+        // Интервал из одного нового номера не вложен ни в один другой
+        for (int labeling = 0; labeling < post.length; labeling++) {
+            low[labeling][component] = nextPost;
+            post[labeling][component] = nextPost;
+        }
+        nextPost++;
+        level[component] = 0;
+    }
+
+    private void applyEdgeAdded(int sourceId, int targetId) {
+        int source = componentOf[sourceId];
+        int target = componentOf[targetId];
+        if (reaches(source, target)) {
+            // Достижимость не изменилась
+            return;
+        }
+        if (closure == null || reaches(target, source)) {
+            // Интервальные метки на месте не обновляются, а цикл сливает компоненты
+            invalidate();
+            return;
+        }
+
+        // Всё, что достигало источника, теперь достигает и всего, что достижимо из цели
+        for (int c = 0; c < componentCount; c++) {
+            if (closure.get(c, source)) {
+                closure.orRow(c, target);
+            }
+        }
+    }
+
+    private void invalidate() {
+        markStale();
+        clearCache();
+        dropIndex();
+    }
+
+    // Сбрасывает обе структуры: после перестроения режим может смениться
+    private void dropIndex() {
+        closure = null;
+        dagOffsets = null;
+        dagTargets = null;
+        level = null;
+        low = null;
+        post = null;
+        visited = null;
+        stack = null;
+    }
+
+    private boolean reaches(int source, int target) {
+        if (source == target) {
+            return true;
+        }
+        if (closure != null) {
+            return closure.get(source, target);
+        }
+        if (!labelsAllow(source, target)) {
+            return false;
+        }
+
+        if (cacheKeys.length == 0) {
+            return search(source, target);
+        }
+        long key = ((long) source << 32) | target;
+        int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & (cacheKeys.length - 1);
+        if (cacheKeys[slot] == key) {
+            return cacheValues[slot];
+        }
+        boolean result = search(source, target);
+        cacheKeys[slot] = key;
+        cacheValues[slot] = result;
+        return result;
+    }
+
+    private void clearCache() {
+        Arrays.fill(cacheKeys, EMPTY_KEY);
+    }
+
+    // Необходимое условие достижимости: интервалы цели вложены в интервалы источника
+    // и цель лежит на более глубоком уровне DAG
+    private boolean labelsAllow(int source, int target) {
+        if (level[source] >= level[target]) {
+            return false;
+        }
+        for (int labeling = 0; labeling < post.length; labeling++) {
+            if (low[labeling][target] < low[labeling][source] || post[labeling][target] > post[labeling][source]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Обход в глубину по конденсации; заходит только в компоненты, которые по меткам
+    // ещё могут достичь цели
+    private boolean search(int source, int target) {
+        visitStamp++;
+        if (visitStamp == 0) {
+            Arrays.fill(visited, 0);
+            visitStamp = 1;
+        }
+
+        int top = 0;
+        stack[top++] = source;
+        visited[source] = visitStamp;
+        while (top > 0) {
+            int component = stack[--top];
+            for (int i = dagOffsets[component]; i < dagOffsets[component + 1]; i++) {
+                int next = dagTargets[i];
+                if (next == target) {
+                    return true;
+                }
+                if (visited[next] != visitStamp && labelsAllow(next, target)) {
+                    visited[next] = visitStamp;
+                    stack[top++] = next;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void rebuild() {
+        dropIndex();
+        if (sharedGraph != null) {
+            sharedGraph.withReadLock(this::readGraph);
+        } else {
+            readGraph(graph);
+        }
+        clearCache();
+
+        int[] order = topologicalOrder();
+        if (componentCount <= MAX_CLOSURE_COMPONENTS) {
+            buildClosure(order);
+            dagOffsets = null;
+            dagTargets = null;
+        } else {
+            buildLabels(order);
+        }
+    }
+
+    // Компоненты и конденсация строятся по одному состоянию графа. Под блокировкой чтения
+    // ConcurrentGraph запись не идёт, поэтому все изменения из очереди уже есть в снимке
+    private Void readGraph(GraphDescriptor graph) {
+        synchronized (pendingLock) {
+            stale = false;
+            pendingCount = 0;
+        }
+        Components components = StronglyConnectedComponents.tarjan(graph);
+        componentOf = components.getComponentOf();
+        componentCount = components.getComponentCount();
+        buildCondensation(graph);
+        return null;
+    }
+
+    // Рёбра между разными компонентами; повторяющиеся рёбра не мешают ни замыканию, ни обходу
+    private void buildCondensation(GraphDescriptor graph) {
+        int[] offsets = new int[componentCount + 1];
+        for (GraphNode node = graph.getFirstNode(); node != null; node = node.getNextDataNode()) {
+            int from = componentOf[node.getId()];
+            for (EdgeNode edge = node.getFirstEdge(); edge != null; edge = edge.getNextEdge()) {
+                if (componentOf[edge.getTargetNode().getId()] != from) {
+                    offsets[from + 1]++;
+                }
+            }
+        }
+        for (int c = 0; c < componentCount; c++) {
+            offsets[c + 1] += offsets[c];
+        }
+
+        int[] targets = new int[offsets[componentCount]];
+        int[] positions = Arrays.copyOf(offsets, componentCount);
+        for (GraphNode node = graph.getFirstNode(); node != null; node = node.getNextDataNode()) {
+            int from = componentOf[node.getId()];
+            for (EdgeNode edge = node.getFirstEdge(); edge != null; edge = edge.getNextEdge()) {
+                int to = componentOf[edge.getTargetNode().getId()];
+                if (to != from) {
+                    targets[positions[from]++] = to;
+                }
+            }
+        }
+
+        dagOffsets = offsets;
+        dagTargets = targets;
+    }
+
+    // Алгоритм Кана: каждая компонента идёт после всех своих предшественников
+    private int[] topologicalOrder() {
+        int[] inDegree = new int[componentCount];
+        for (int target : dagTargets) {
+            inDegree[target]++;
+        }
+
+        int[] order = new int[componentCount];
+        int head = 0;
+        int tail = 0;
+        for (int c = 0; c < componentCount; c++) {
+            if (inDegree[c] == 0) {
+                order[tail++] = c;
+            }
+        }
+        while (head < tail) {
+            int component = order[head++];
+            for (int i = dagOffsets[component]; i < dagOffsets[component + 1]; i++) {
+                if (--inDegree[dagTargets[i]] == 0) {
+                    order[tail++] = dagTargets[i];
+                }
+            }
+        }
+        return order;
+    }
+
+    // Компоненты обрабатываются от стоков к истокам, поэтому строки преемников уже готовы
+    private void buildClosure(int[] order) {
+        closure = new BitMatrix(componentCount);
+        for (int i = componentCount - 1; i >= 0; i--) {
+            int component = order[i];
+            closure.set(component, component);
+            for (int j = dagOffsets[component]; j < dagOffsets[component + 1]; j++) {
+                closure.orRow(component, dagTargets[j]);
+            }
+        }
+    }
+
+    private void buildLabels(int[] order) {
+        level = new int[componentCount];
+        for (int component : order) {
+            for (int i = dagOffsets[component]; i < dagOffsets[component + 1]; i++) {
+                int next = dagTargets[i];
+                level[next] = Math.max(level[next], level[component] + 1);
+            }
+        }
+
+        low = new int[2][];
+        post = new int[2][];
+        nextPost = 0;
+        visited = new int[componentCount];
+        visitStamp = 0;
+        stack = new int[componentCount];
+        int[] edgePosition = new int[componentCount];
+
+        // Первая разметка обходит детей в прямом порядке, вторая — в обратном
+        for (int labeling = 0; labeling < 2; labeling++) {
+            low[labeling] = new int[componentCount];
+            post[labeling] = new int[componentCount];
+            boolean reversed = labeling == 1;
+            visitStamp++;
+            int counter = 0;
+
+            for (int root : order) {
+                if (visited[root] == visitStamp) {
+                    continue;
+                }
+                int top = 0;
+                stack[top++] = root;
+                visited[root] = visitStamp;
+                edgePosition[root] = 0;
+                low[labeling][root] = Integer.MAX_VALUE;
+
+                while (top > 0) {
+                    int component = stack[top - 1];
+                    int from = dagOffsets[component];
+                    int degree = dagOffsets[component + 1] - from;
+
+                    if (edgePosition[component] < degree) {
+                        int index = edgePosition[component]++;
+                        int next = dagTargets[reversed ? from + degree - 1 - index : from + index];
+                        if (visited[next] != visitStamp) {
+                            visited[next] = visitStamp;
+                            edgePosition[next] = 0;
+                            low[labeling][next] = Integer.MAX_VALUE;
+                            stack[top++] = next;
+                        } else {
+                            low[labeling][component] = Math.min(low[labeling][component], low[labeling][next]);
+                        }
+                        continue;
+                    }
+
+                    // Интервал компоненты — от наименьшего номера в её поддереве до её номера
+                    top--;
+                    post[labeling][component] = counter;
+                    low[labeling][component] = Math.min(low[labeling][component], counter);
+                    counter++;
+                    if (top > 0) {
+                        int parent = stack[top - 1];
+                        low[labeling][parent] = Math.min(low[labeling][parent], low[labeling][component]);
+                    }
+                }
+            }
+            nextPost = Math.max(nextPost, counter);
+        }
+    }
+}
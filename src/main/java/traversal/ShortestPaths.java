@@ -0,0 +1,230 @@
+package traversal;
+
+import data_structures.CsrGraph;
+import data_structures.GraphDescriptor;
+import data_structures.VertexLabels;
+
+import java.util.Arrays;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Кратчайшие пути во взвешенном графе с неотрицательными весами:
+ * алгоритм Дейкстры от одной вершины, A* и двунаправленный поиск между двумя вершинами.
+ * Работает по снимку CSR и хранит рабочие массивы (расстояния, родители, кучу)
+ * между запросами: они не очищаются целиком, а помечаются номером запроса,
+ * поэтому ни релаксация ребра, ни новый запрос не создают объектов, кроме результата.
+ * Объект не потокобезопасен; граф после создания снимка не меняется.
+ */
+public class ShortestPaths {
+
+    public static final double UNREACHABLE = Double.POSITIVE_INFINITY;
+
+    private final CsrGraph graph;
+    private CsrGraph transposed;
+    private final Search forward;
+    private Search backward;
+
+    public ShortestPaths(GraphDescriptor graph) {
+        this(toCsr(graph));
+    }
+
+    public ShortestPaths(CsrGraph graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
+        }
+        this.graph = graph;
+        this.transposed = null;
+        this.forward = new Search(graph.getIdBound());
+        this.backward = null;
+    }
+
+    private static CsrGraph toCsr(GraphDescriptor graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
+        }
+        return CsrGraph.fromDescriptor(graph);
+    }
+
+    private void validateVertex(int vertexId) {
+        if (!graph.containsVertex(vertexId)) {
+            throw new IllegalArgumentException("Вершина " + VertexLabels.defaultLabel(Math.max(vertexId, 0))
+                    + " не найдена");
+        }
+    }
+
+    // Расстояния от источника до всех вершин; UNREACHABLE для недостижимых
+    public double[] distances(int sourceId) {
+        validateVertex(sourceId);
+        run(sourceId, -1, null);
+
+        double[] result = new double[graph.getIdBound()];
+        for (int v = 0; v < result.length; v++) {
+            result[v] = forward.distance(v);
+        }
+        return result;
+    }
+
+    // Дейкстра с остановкой, как только цель извлечена из кучи
+    public WeightedPath shortestPath(int sourceId, int targetId) {
+        validateVertex(sourceId);
+        validateVertex(targetId);
+        run(sourceId, targetId, null);
+        return forward.pathTo(targetId);
+    }
+
+    // A*: heuristic(v) — нижняя оценка расстояния от v до цели. Для допустимой,
+    // но несогласованной оценки вершины могут обрабатываться повторно
+    public WeightedPath shortestPath(int sourceId, int targetId, IntToDoubleFunction heuristic) {
+        if (heuristic == null) {
+            throw new IllegalArgumentException("Эвристика не может быть null");
+        }
+        validateVertex(sourceId);
+        validateVertex(targetId);
+        run(sourceId, targetId, heuristic);
+        return forward.pathTo(targetId);
+    }
+
+    // Одновременный поиск от источника по рёбрам и от цели по обращённым рёбрам;
+    // каждый шаг делает сторона с меньшей кучей. Поиск заканчивается, когда сумма
+    // минимумов двух куч не меньше лучшего найденного пути
+    public WeightedPath bidirectionalPath(int sourceId, int targetId) {
+        validateVertex(sourceId);
+        validateVertex(targetId);
+        if (transposed == null) {
+            transposed = graph.transpose();
+            backward = new Search(graph.getIdBound());
+        }
+
+        forward.start(sourceId, 0);
+        backward.start(targetId, 0);
+        double best = sourceId == targetId ? 0 : UNREACHABLE;
+        int meeting = sourceId == targetId ? sourceId : -1;
+
+        while (!forward.heap.isEmpty() && !backward.heap.isEmpty()
+                && forward.heap.minKey() + backward.heap.minKey() < best) {
+            boolean forwardStep = forward.heap.size() <= backward.heap.size();
+            Search side = forwardStep ? forward : backward;
+            Search other = forwardStep ? backward : forward;
+            CsrGraph edges = forwardStep ? graph : transposed;
+
+            int u = side.heap.poll();
+            double du = side.distance(u);
+            for (int i = edges.neighbourStart(u); i < edges.neighbourEnd(u); i++) {
+                int v = edges.targetAt(i);
+                double candidate = du + edges.weightAt(i);
+                if (candidate < side.distance(v)) {
+                    side.relax(v, candidate, u, candidate);
+                }
+                double through = candidate + other.distance(v);
+                if (through < best) {
+                    best = through;
+                    meeting = v;
+                }
+            }
+        }
+
+        if (meeting < 0) {
+            return new WeightedPath(new int[0], UNREACHABLE);
+        }
+
+        // Путь от источника до точки встречи и от неё по родителям обратного поиска до цели
+        int forwardLength = forward.hops(meeting);
+        int backwardLength = backward.hops(meeting);
+        int[] vertices = new int[forwardLength + backwardLength - 1];
+        int position = forwardLength - 1;
+        for (int v = meeting; v >= 0; v = forward.parent[v]) {
+            vertices[position--] = v;
+        }
+        position = forwardLength;
+        for (int v = backward.parent[meeting]; v >= 0; v = backward.parent[v]) {
+            vertices[position++] = v;
+        }
+        return new WeightedPath(vertices, best);
+    }
+
+    private void run(int sourceId, int targetId, IntToDoubleFunction heuristic) {
+        Search search = forward;
+        search.start(sourceId, heuristic == null ? 0 : heuristic.applyAsDouble(sourceId));
+
+        while (!search.heap.isEmpty()) {
+            int u = search.heap.poll();
+            if (u == targetId) {
+                return;
+            }
+
+            double du = search.distance(u);
+            for (int i = graph.neighbourStart(u); i < graph.neighbourEnd(u); i++) {
+                int v = graph.targetAt(i);
+                double candidate = du + graph.weightAt(i);
+                if (candidate < search.distance(v)) {
+                    double key = heuristic == null ? candidate : candidate + heuristic.applyAsDouble(v);
+                    search.relax(v, candidate, u, key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Рабочее состояние одного направления поиска. Значение dist[v] действительно,
+     * только если stamp[v] совпадает с номером текущего запроса.
+     */
+    private static class Search {
+        final double[] dist;
+        final int[] parent;
+        final int[] stamp;
+        final IndexedMinHeap heap;
+        int query;
+
+        Search(int idBound) {
+            this.dist = new double[idBound];
+            this.parent = new int[idBound];
+            this.stamp = new int[idBound];
+            this.heap = new IndexedMinHeap(idBound);
+            this.query = 0;
+        }
+
+        void start(int sourceId, double key) {
+            heap.clear();
+            query++;
+            if (query == 0) {
+                // После переполнения счётчика старые метки могли бы совпасть с новыми
+                Arrays.fill(stamp, 0);
+                query = 1;
+            }
+            relax(sourceId, 0, -1, key);
+        }
+
+        double distance(int vertexId) {
+            return stamp[vertexId] == query ? dist[vertexId] : UNREACHABLE;
+        }
+
+        void relax(int vertexId, double distance, int parentId, double key) {
+            stamp[vertexId] = query;
+            dist[vertexId] = distance;
+            parent[vertexId] = parentId;
+            heap.push(vertexId, key);
+        }
+
+        int hops(int vertexId) {
+            int count = 0;
+            for (int v = vertexId; v >= 0; v = parent[v]) {
+                count++;
+            }
+            return count;
+        }
+
+        WeightedPath pathTo(int targetId) {
+            double length = distance(targetId);
+            if (length == UNREACHABLE) {
+                return new WeightedPath(new int[0], UNREACHABLE);
+            }
+
+            int[] vertices = new int[hops(targetId)];
+            int position = vertices.length - 1;
+            for (int v = targetId; v >= 0; v = parent[v]) {
+                vertices[position--] = v;
+            }
+            return new WeightedPath(vertices, length);
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package traversal;
+
+import data_structures.CsrGraph;
+import data_structures.GraphDescriptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Сильно связные компоненты ориентированного графа.
+ * Последовательный вариант — итеративный алгоритм Тарьяна без рекурсии,
+ * параллельный — Forward-Backward с предварительным отсечением вершин
+ * с нулевой входящей или исходящей степенью; мелкие подмножества
+ * досчитываются алгоритмом Тарьяна.
+ */
+public class StronglyConnectedComponents {
+
+    private static final int SEQUENTIAL_THRESHOLD = 4096;
+    private static final int DONE = 0;
+    private static final int INITIAL_COLOR = 1;
+
+    public static Components tarjan(GraphDescriptor graph) {
+        CsrGraph csr = toCsr(graph);
+        Tarjan tarjan = new Tarjan(csr, null, new AtomicInteger());
+
+        for (int v = 0; v < csr.getIdBound(); v++) {
+            if (csr.containsVertex(v) && tarjan.index[v] == -1) {
+                tarjan.run(v, 0);
+            }
+        }
+
+        return new Components(tarjan.componentOf, tarjan.componentCounter.get());
+    }
+
+
+    public static Components parallel(GraphDescriptor graph) {
+        return parallel(graph, ForkJoinPool.commonPool());
+    }
+
+
+    public static Components parallel(GraphDescriptor graph, ForkJoinPool pool) {
+        CsrGraph csr = toCsr(graph);
+        CsrGraph transposed = csr.transpose();
+        int n = csr.getIdBound();
+
+        int[] colors = new int[n];
+        AtomicInteger componentCounter = new AtomicInteger();
+        Tarjan tarjan = new Tarjan(csr, colors, componentCounter);
+
+        int activeCount = trim(csr, transposed, colors, tarjan.componentOf, componentCounter);
+        int[] members = new int[activeCount];
+        int count = 0;
+        for (int v = 0; v < n; v++) {
+            if (colors[v] == INITIAL_COLOR) {
+                members[count++] = v;
+            }
+        }
+
+        if (activeCount > 0) {
+            Context context = new Context(csr, transposed, colors, tarjan, new AtomicInteger(INITIAL_COLOR));
+            pool.invoke(new ForwardBackwardTask(context, members, INITIAL_COLOR));
+        }
+
+        return new Components(tarjan.componentOf, componentCounter.get());
+    }
+
+
+    private static CsrGraph toCsr(GraphDescriptor graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
+        }
+        return CsrGraph.fromDescriptor(graph);
+    }
+
+    // Вершины без входящих или без исходящих рёбер сами по себе образуют компоненту;
+    // их удаление может обнулить степени соседей, поэтому отсечение идёт по очереди
+    private static int trim(CsrGraph csr, CsrGraph transposed, int[] colors, int[] componentOf,
+                            AtomicInteger componentCounter) {
+        int n = csr.getIdBound();
+        int[] outDegree = new int[n];
+        int[] inDegree = new int[n];
+        int[] queue = new int[n];
+        int tail = 0;
+        int activeCount = 0;
+
+        for (int v = 0; v < n; v++) {
+            if (!csr.containsVertex(v)) {
+                continue;
+            }
+            colors[v] = INITIAL_COLOR;
+            activeCount++;
+            for (int i = csr.neighbourStart(v); i < csr.neighbourEnd(v); i++) {
+                if (csr.targetAt(i) != v) {
+                    outDegree[v]++;
+                    inDegree[csr.targetAt(i)]++;
+                }
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            if (colors[v] == INITIAL_COLOR && (outDegree[v] == 0 || inDegree[v] == 0)) {
+                colors[v] = DONE;
+                queue[tail++] = v;
+            }
+        }
+
+        for (int head = 0; head < tail; head++) {
+            int v = queue[head];
+            componentOf[v] = componentCounter.getAndIncrement();
+            activeCount--;
+
+            for (int i = csr.neighbourStart(v); i < csr.neighbourEnd(v); i++) {
+                int w = csr.targetAt(i);
+                if (colors[w] == INITIAL_COLOR && --inDegree[w] == 0) {
+                    colors[w] = DONE;
+                    queue[tail++] = w;
+                }
+            }
+            for (int i = transposed.neighbourStart(v); i < transposed.neighbourEnd(v); i++) {
+                int w = transposed.targetAt(i);
+                if (colors[w] == INITIAL_COLOR && --outDegree[w] == 0) {
+                    colors[w] = DONE;
+                    queue[tail++] = w;
+                }
+            }
+        }
+
+        return activeCount;
+    }
+
+    private static final class Context {
+        final CsrGraph csr;
+        final CsrGraph transposed;
+        final int[] colors;
+        final Tarjan tarjan;
+        final AtomicInteger colorCounter;
+
+        Context(CsrGraph csr, CsrGraph transposed, int[] colors, Tarjan tarjan, AtomicInteger colorCounter) {
+            this.csr = csr;
+            this.transposed = transposed;
+            this.colors = colors;
+            this.tarjan = tarjan;
+            this.colorCounter = colorCounter;
+        }
+    }
+
+    // Подмножество вершин одного цвета: от опорной вершины строятся множества достижимых (F)
+    // и достигающих (B); F ∩ B — компонента, остальные три части обрабатываются независимо.
+    // Самая большая часть обрабатывается в том же цикле, две другие запускаются fork,
+    // поэтому глубина стека не растёт с числом шагов (например, на цепочке компонент).
+    // Опорная вершина выбирается случайно: на цепочке это делит подмножество
+    // в среднем пополам, а не отщепляет по одной компоненте
+    @SuppressWarnings("serial")
+    private static final class ForwardBackwardTask extends RecursiveAction {
+        private final Context context;
+        private final int[] members;
+        private final int color;
+
+        ForwardBackwardTask(Context context, int[] members, int color) {
+            this.context = context;
+            this.members = members;
+            this.color = color;
+        }
+
+        @Override
+        protected void compute() {
+            List<ForwardBackwardTask> forked = new ArrayList<>();
+            int[] current = members;
+            int currentColor = color;
+
+            while (current.length > SEQUENTIAL_THRESHOLD) {
+                int forwardColor = context.colorCounter.incrementAndGet();
+                int backwardColor = context.colorCounter.incrementAndGet();
+                int[][] parts = split(current, currentColor, forwardColor, backwardColor);
+                int[] partColors = {forwardColor, backwardColor, currentColor};
+
+                int largest = 0;
+                for (int i = 1; i < parts.length; i++) {
+                    if (parts[i].length > parts[largest].length) {
+                        largest = i;
+                    }
+                }
+                for (int i = 0; i < parts.length; i++) {
+                    if (i != largest && parts[i].length > 0) {
+                        ForwardBackwardTask task = new ForwardBackwardTask(context, parts[i], partColors[i]);
+                        task.fork();
+                        forked.add(task);
+                    }
+                }
+                current = parts[largest];
+                currentColor = partColors[largest];
+            }
+
+            for (int v : current) {
+                if (context.tarjan.index[v] == -1) {
+                    context.tarjan.run(v, currentColor);
+                }
+            }
+            for (ForwardBackwardTask task : forked) {
+                task.join();
+            }
+        }
+
+        // Отмечает компоненту опорной вершины и возвращает части F \ B, B \ F и остаток
+        private int[][] split(int[] subset, int subsetColor, int forwardColor, int backwardColor) {
+            int[] colors = context.colors;
+            int pivot = subset[ThreadLocalRandom.current().nextInt(subset.length)];
+            int[] queue = new int[subset.length];
+
+            colors[pivot] = forwardColor;
+            queue[0] = pivot;
+            int tail = 1;
+            for (int head = 0; head < tail; head++) {
+                int v = queue[head];
+                for (int i = context.csr.neighbourStart(v); i < context.csr.neighbourEnd(v); i++) {
+                    int w = context.csr.targetAt(i);
+                    if (colors[w] == subsetColor) {
+                        colors[w] = forwardColor;
+                        queue[tail++] = w;
+                    }
+                }
+            }
+
+            int component = context.tarjan.componentCounter.getAndIncrement();
+            colors[pivot] = DONE;
+            context.tarjan.componentOf[pivot] = component;
+            queue[0] = pivot;
+            tail = 1;
+            for (int head = 0; head < tail; head++) {
+                int v = queue[head];
+                for (int i = context.transposed.neighbourStart(v); i < context.transposed.neighbourEnd(v); i++) {
+                    int w = context.transposed.targetAt(i);
+                    if (colors[w] == forwardColor) {
+                        colors[w] = DONE;
+                        context.tarjan.componentOf[w] = component;
+                        queue[tail++] = w;
+                    } else if (colors[w] == subsetColor) {
+                        colors[w] = backwardColor;
+                        queue[tail++] = w;
+                    }
+                }
+            }
+
+            // Сначала подсчёт, чтобы массивы частей создавались точного размера
+            int forwardCount = 0;
+            int backwardCount = 0;
+            int remainingCount = 0;
+            for (int v : subset) {
+                if (colors[v] == forwardColor) {
+                    forwardCount++;
+                } else if (colors[v] == backwardColor) {
+                    backwardCount++;
+                } else if (colors[v] == subsetColor) {
+                    remainingCount++;
+                }
+            }
+
+            int[] forwardOnly = new int[forwardCount];
+            int[] backwardOnly = new int[backwardCount];
+            int[] remaining = new int[remainingCount];
+            forwardCount = 0;
+            backwardCount = 0;
+            remainingCount = 0;
+            for (int v : subset) {
+                if (colors[v] == forwardColor) {
+                    forwardOnly[forwardCount++] = v;
+                } else if (colors[v] == backwardColor) {
+                    backwardOnly[backwardCount++] = v;
+                } else if (colors[v] == subsetColor) {
+                    remaining[remainingCount++] = v;
+                }
+            }
+            return new int[][]{forwardOnly, backwardOnly, remaining};
+        }
+    }
+
+    // Итеративный Тарьян: вместо рекурсии — явный стек вызовов и курсор по рёбрам каждой вершины.
+    // Если задан массив цветов, обход ограничен вершинами указанного цвета
+    private static final class Tarjan {
+        final CsrGraph csr;
+        final int[] colors;
+        final AtomicInteger componentCounter;
+        final int[] componentOf;
+        final int[] index;
+        final int[] low;
+        final int[] cursor;
+        final boolean[] onStack;
+
+        Tarjan(CsrGraph csr, int[] colors, AtomicInteger componentCounter) {
+            int n = csr.getIdBound();
+            this.csr = csr;
+            this.colors = colors;
+            this.componentCounter = componentCounter;
+            this.componentOf = new int[n];
+            this.index = new int[n];
+            this.low = new int[n];
+            this.cursor = new int[n];
+            this.onStack = new boolean[n];
+            Arrays.fill(componentOf, -1);
+            Arrays.fill(index, -1);
+        }
+
+        private boolean inSubset(int vertexId, int color) {
+            return colors == null || colors[vertexId] == color;
+        }
+
+        void run(int root, int color) {
+            int[] callStack = new int[16];
+            int[] stack = new int[16];
+            int depth = 0;
+            int stackSize = 0;
+            int counter = 0;
+
+            index[root] = counter;
+            low[root] = counter++;
+            cursor[root] = csr.neighbourStart(root);
+            onStack[root] = true;
+            stack[stackSize++] = root;
+            callStack[depth++] = root;
+
+            while (depth > 0) {
+                int v = callStack[depth - 1];
+
+                if (cursor[v] < csr.neighbourEnd(v)) {
+                    int w = csr.targetAt(cursor[v]++);
+                    if (!inSubset(w, color)) {
+                        continue;
+                    }
+                    if (index[w] == -1) {
+                        index[w] = counter;
+                        low[w] = counter++;
+                        cursor[w] = csr.neighbourStart(w);
+                        onStack[w] = true;
+                        if (stackSize == stack.length) {
+                            stack = Arrays.copyOf(stack, stackSize * 2);
+                        }
+                        stack[stackSize++] = w;
+                        if (depth == callStack.length) {
+                            callStack = Arrays.copyOf(callStack, depth * 2);
+                        }
+                        callStack[depth++] = w;
+                    } else if (onStack[w]) {
+                        low[v] = Math.min(low[v], index[w]);
+                    }
+                    continue;
+                }
+
+                depth--;
+                if (depth > 0) {
+                    int parent = callStack[depth - 1];
+                    low[parent] = Math.min(low[parent], low[v]);
+                }
+
+                if (low[v] == index[v]) {
+                    int component = componentCounter.getAndIncrement();
+                    int w;
+                    do {
+                        w = stack[--stackSize];
+                        onStack[w] = false;
+                        componentOf[w] = component;
+                    } while (w != v);
+                }
+            }
+        }
+    }
+}
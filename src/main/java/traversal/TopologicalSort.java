@@ -0,0 +1,57 @@
+package traversal;
+
+import data_structures.EdgeNode;
+import data_structures.GraphDescriptor;
+import data_structures.GraphNode;
+
+public class TopologicalSort {
+
+    // Алгоритм Кана; возвращает id вершин в топологическом порядке или null, если в графе есть цикл
+    public static int[] tryKahn(GraphDescriptor graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
+        }
+
+        int[] inDegree = new int[graph.getIdBound()];
+        for (GraphNode node = graph.getFirstNode(); node != null; node = node.getNextDataNode()) {
+            for (EdgeNode edge = node.getFirstEdge(); edge != null; edge = edge.getNextEdge()) {
+                inDegree[edge.getTargetNode().getId()]++;
+            }
+        }
+
+        int[] order = new int[graph.getVertexCount()];
+        int head = 0;
+        int tail = 0;
+        for (GraphNode node = graph.getFirstNode(); node != null; node = node.getNextDataNode()) {
+            if (inDegree[node.getId()] == 0) {
+                order[tail++] = node.getId();
+            }
+        }
+
+        while (head < tail) {
+            GraphNode node = graph.findVertex(order[head++]);
+            for (EdgeNode edge = node.getFirstEdge(); edge != null; edge = edge.getNextEdge()) {
+                int target = edge.getTargetNode().getId();
+                if (--inDegree[target] == 0) {
+                    order[tail++] = target;
+                }
+            }
+        }
+
+        return tail == order.length ? order : null;
+    }
+
+
+    public static int[] kahn(GraphDescriptor graph) {
+        int[] order = tryKahn(graph);
+        if (order == null) {
+            throw new IllegalArgumentException("Граф содержит цикл");
+        }
+        return order;
+    }
+
+
+    public static boolean hasCycle(GraphDescriptor graph) {
+        return tryKahn(graph) == null;
+    }
+}
@@ -0,0 +1,22 @@
+package traversal;
+
+import lombok.Getter;
+
+/**
+ * Кратчайший путь: id вершин от начала до конца и суммарный вес рёбер.
+ * Если путь не найден, vertices пуст, а length равна бесконечности.
+ */
+@Getter
+public class WeightedPath {
+    private final int[] vertices;
+    private final double length;
+
+    public WeightedPath(int[] vertices, double length) {
+        this.vertices = vertices;
+        this.length = length;
+    }
+
+    public boolean exists() {
+        return vertices.length > 0;
+    }
+}
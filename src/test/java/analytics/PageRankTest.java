@@ -0,0 +1,116 @@
+package analytics;
+
+import data_structures.EdgeNode;
+import data_structures.GraphDescriptor;
+import data_structures.GraphNode;
+import io.TestGraphs;
+import operations.GraphOperations;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PageRankTest {
+
+    private static final double DAMPING = 0.85;
+    private static final double TOLERANCE = 1e-12;
+    private static final double DELTA = 1e-9;
+
+    @Test
+    void matchesSequentialPowerIteration() {
+        // Граф больше порога деления задачи, с висячими вершинами
+        GraphDescriptor graph = TestGraphs.randomGraph(20_000, 80_000, 1);
+
+        PageRankResult result = pageRank().rank(graph);
+
+        assertTrue(result.isConverged());
+        assertRanksEqual(sequentialRanks(graph, null), result.getRanks());
+    }
+
+    @Test
+    void personalizedRankMatchesSequentialPowerIteration() {
+        GraphDescriptor graph = TestGraphs.randomGraph(5000, 20_000, 2);
+        double[] personalization = new double[graph.getIdBound()];
+        personalization[3] = 1;
+        personalization[4000] = 1;
+
+        PageRankResult result = pageRank().rankFrom(graph, 3, 4000);
+
+        assertRanksEqual(sequentialRanks(graph, personalization), result.getRanks());
+    }
+
+    @Test
+    void deletedVerticesGetNoRank() {
+        GraphDescriptor graph = TestGraphs.randomGraph(3000, 12_000, 3);
+        for (int v = 5; v < 3000; v += 11) {
+            GraphOperations.deleteVertex(graph, v);
+        }
+
+        PageRankResult result = pageRank().rank(graph);
+
+        assertEquals(0.0, result.rankOf(5));
+        assertRanksEqual(sequentialRanks(graph, null), result.getRanks());
+    }
+
+    private static PageRank pageRank() {
+        return new PageRank(DAMPING, TOLERANCE, 1000, TestGraphs.pool());
+    }
+
+    private static void assertRanksEqual(double[] expected, double[] actual) {
+        assertEquals(expected.length, actual.length);
+        double total = 0;
+        for (int v = 0; v < expected.length; v++) {
+            assertEquals(expected[v], actual[v], DELTA, "вершина " + v);
+            total += actual[v];
+        }
+        assertEquals(1.0, total, 1e-9);
+    }
+
+    // Эталон: последовательный степенной метод, где каждая вершина раздаёт ранг
+    // по исходящим рёбрам (push), а ранг висячих вершин уходит в телепортацию
+    private static double[] sequentialRanks(GraphDescriptor graph, double[] personalization) {
+        int idBound = graph.getIdBound();
+        double[] teleport = new double[idBound];
+        double teleportTotal = 0;
+        for (GraphNode node = graph.getFirstNode(); node != null; node = node.getNextDataNode()) {
+            teleport[node.getId()] = personalization == null ? 1 : personalization[node.getId()];
+            teleportTotal += teleport[node.getId()];
+        }
+        for (int v = 0; v < idBound; v++) {
+            teleport[v] /= teleportTotal;
+        }
+
+        double[] rank = new double[idBound];
+        for (GraphNode node = graph.getFirstNode(); node != null; node = node.getNextDataNode()) {
+            rank[node.getId()] = 1.0 / graph.getVertexCount();
+        }
+
+        for (int iteration = 0; iteration < 1000; iteration++) {
+            double dangling = 0;
+            double[] next = new double[idBound];
+            for (GraphNode node = graph.getFirstNode(); node != null; node = node.getNextDataNode()) {
+                int degree = node.getOutDegree();
+                if (degree == 0) {
+                    dangling += rank[node.getId()];
+                    continue;
+                }
+                double share = DAMPING * rank[node.getId()] / degree;
+                for (EdgeNode edge = node.getFirstEdge(); edge != null; edge = edge.getNextEdge()) {
+                    next[edge.getTargetNode().getId()] += share;
+                }
+            }
+
+            double residual = 0;
+            for (GraphNode node = graph.getFirstNode(); node != null; node = node.getNextDataNode()) {
+                int v = node.getId();
+                next[v] += (1 - DAMPING + DAMPING * dangling) * teleport[v];
+                residual += Math.abs(next[v] - rank[v]);
+            }
+            rank = next;
+            if (residual < TOLERANCE) {
+                break;
+            }
+        }
+        return rank;
+    }
+}
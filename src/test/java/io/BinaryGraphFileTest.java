@@ -0,0 +1,117 @@
+package io;
+
+import data_structures.GraphDescriptor;
+import operations.GraphOperations;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static io.GraphAssertions.assertSameGraph;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryGraphFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripKeepsVerticesLabelsAndEdges() throws IOException {
+        GraphDescriptor graph = GraphOperations.buildGraphFromMatrix(new int[][]{
+                {0, 1, 1, 0},
+                {0, 0, 1, 0},
+                {1, 0, 0, 1},
+                {0, 0, 0, 1}
+        });
+        GraphOperations.relabelVertex(graph, 2, "Центр");
+        GraphOperations.addVertex(graph, "Z", new int[]{0, 3});
+
+        assertSameGraph(graph, saveAndLoad(graph));
+    }
+
+    @Test
+    void roundTripKeepsSparseAndUnorderedIds() throws IOException {
+        // Разности id между соседними вершинами списка бывают отрицательными
+        // и не помещаются в один байт varint
+        GraphDescriptor graph = new GraphDescriptor();
+        int[] ids = {70_000, 5, 300, 1 << 24, 0};
+        for (int id : ids) {
+            GraphOperations.addVertex(graph, id, new int[0]);
+        }
+        GraphOperations.addEdge(graph, 5, 1 << 24);
+        GraphOperations.addEdge(graph, 1 << 24, 0);
+        GraphOperations.addEdge(graph, 0, 70_000);
+        GraphOperations.addEdge(graph, 70_000, 5);
+        GraphOperations.deleteVertex(graph, 300);
+
+        assertSameGraph(graph, saveAndLoad(graph));
+    }
+
+    @Test
+    void roundTripKeepsWeights() throws IOException {
+        GraphDescriptor graph = GraphOperations.createGraph(3);
+        GraphOperations.addEdge(graph, 0, 1, 2.5);
+        GraphOperations.addEdge(graph, 1, 2, 1e-9);
+        GraphOperations.addEdge(graph, 2, 0);
+
+        GraphDescriptor loaded = saveAndLoad(graph);
+
+        assertSameGraph(graph, loaded);
+        assertEquals(2.5, GraphOperations.edgeWeight(loaded, 0, 1));
+        assertEquals(1e-9, GraphOperations.edgeWeight(loaded, 1, 2));
+        assertEquals(1.0, GraphOperations.edgeWeight(loaded, 2, 0));
+    }
+
+    @Test
+    void roundTripOfRandomGraph() throws IOException {
+        GraphDescriptor graph = TestGraphs.randomGraph(2000, 20_000, 42);
+
+        assertSameGraph(graph, saveAndLoad(graph));
+    }
+
+    @Test
+    void emptyGraphRoundTrip() throws IOException {
+        GraphDescriptor loaded = saveAndLoad(new GraphDescriptor());
+
+        assertEquals(0, loaded.getVertexCount());
+        assertEquals(0, loaded.getEdgeCount());
+    }
+
+    @Test
+    void corruptedFileFailsChecksum() throws IOException {
+        GraphDescriptor graph = GraphOperations.buildGraphFromMatrix(new int[][]{{0, 1}, {1, 0}});
+        Path file = directory.resolve("graph.bin");
+        BinaryGraphFile.save(graph, file.toString());
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x10;
+        Files.write(file, bytes);
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> BinaryGraphFile.load(file.toString()));
+        assertTrue(error.getMessage().contains("Контрольная сумма"));
+    }
+
+    @Test
+    void truncatedFileIsRejected() throws IOException {
+        GraphDescriptor graph = GraphOperations.buildGraphFromMatrix(new int[][]{{0, 1}, {1, 0}});
+        Path file = directory.resolve("graph.bin");
+        BinaryGraphFile.save(graph, file.toString());
+
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+        assertThrows(IllegalArgumentException.class, () -> BinaryGraphFile.load(file.toString()));
+    }
+
+    private GraphDescriptor saveAndLoad(GraphDescriptor graph) throws IOException {
+        Path file = directory.resolve("graph.bin");
+        BinaryGraphFile.save(graph, file.toString());
+        return BinaryGraphFile.load(file.toString());
+    }
+}
@@ -0,0 +1,147 @@
+package io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Канал файла, который по команде теста обрывает запись: после failWritesAfter(n)
+ * пишет ещё не больше n байт и бросает IOException, после failForce()
+ * бросает IOException из force. Остальные вызовы передаются настоящему каналу.
+ */
+final class FailingChannel extends FileChannel {
+
+    private final FileChannel delegate;
+    private volatile long writeBudget;
+    private volatile boolean forceFails;
+
+    FailingChannel(FileChannel delegate) {
+        this.delegate = delegate;
+        this.writeBudget = Long.MAX_VALUE;
+        this.forceFails = false;
+    }
+
+    void failWritesAfter(long bytes) {
+        writeBudget = bytes;
+    }
+
+    void failForce() {
+        forceFails = true;
+    }
+
+    @Override
+    public int write(ByteBuffer source) throws IOException {
+        if (writeBudget == 0) {
+            throw new IOException("Имитация ошибки записи");
+        }
+        if (source.remaining() <= writeBudget) {
+            int written = delegate.write(source);
+            writeBudget = writeBudget == Long.MAX_VALUE ? writeBudget : writeBudget - written;
+            return written;
+        }
+
+        // Оборванная запись: часть байтов доходит до файла
+        ByteBuffer part = source.duplicate();
+        part.limit(part.position() + (int) writeBudget);
+        int written = delegate.write(part);
+        source.position(source.position() + written);
+        writeBudget = 0;
+        return written;
+    }
+
+    @Override
+    public long write(ByteBuffer[] sources, int offset, int length) throws IOException {
+        long written = 0;
+        for (int i = offset; i < offset + length; i++) {
+            written += write(sources[i]);
+        }
+        return written;
+    }
+
+    @Override
+    public int write(ByteBuffer source, long position) throws IOException {
+        if (writeBudget != Long.MAX_VALUE) {
+            throw new IOException("Имитация ошибки записи");
+        }
+        return delegate.write(source, position);
+    }
+
+    @Override
+    public void force(boolean metaData) throws IOException {
+        if (forceFails) {
+            throw new IOException("Имитация ошибки force");
+        }
+        delegate.force(metaData);
+    }
+
+    @Override
+    public int read(ByteBuffer destination) throws IOException {
+        return delegate.read(destination);
+    }
+
+    @Override
+    public long read(ByteBuffer[] destinations, int offset, int length) throws IOException {
+        return delegate.read(destinations, offset, length);
+    }
+
+    @Override
+    public int read(ByteBuffer destination, long position) throws IOException {
+        return delegate.read(destination, position);
+    }
+
+    @Override
+    public long position() throws IOException {
+        return delegate.position();
+    }
+
+    @Override
+    public FileChannel position(long newPosition) throws IOException {
+        delegate.position(newPosition);
+        return this;
+    }
+
+    @Override
+    public long size() throws IOException {
+        return delegate.size();
+    }
+
+    @Override
+    public FileChannel truncate(long size) throws IOException {
+        delegate.truncate(size);
+        return this;
+    }
+
+    @Override
+    public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+        return delegate.transferTo(position, count, target);
+    }
+
+    @Override
+    public long transferFrom(ReadableByteChannel source, long position, long count) throws IOException {
+        return delegate.transferFrom(source, position, count);
+    }
+
+    @Override
+    public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+        return delegate.map(mode, position, size);
+    }
+
+    @Override
+    public FileLock lock(long position, long size, boolean shared) throws IOException {
+        return delegate.lock(position, size, shared);
+    }
+
+    @Override
+    public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+        return delegate.tryLock(position, size, shared);
+    }
+
+    @Override
+    protected void implCloseChannel() throws IOException {
+        delegate.close();
+    }
+}
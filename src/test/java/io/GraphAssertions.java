@@ -0,0 +1,39 @@
+package io;
+
+import data_structures.EdgeNode;
+import data_structures.GraphDescriptor;
+import data_structures.GraphNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Сравнение графов после сохранения и загрузки: вершины в порядке списка,
+ * их метки, рёбра и веса.
+ */
+final class GraphAssertions {
+
+    private GraphAssertions() {
+    }
+
+    static void assertSameGraph(GraphDescriptor expected, GraphDescriptor actual) {
+        assertEquals(expected.getVertexCount(), actual.getVertexCount());
+        assertEquals(expected.getEdgeCount(), actual.getEdgeCount());
+        assertEquals(describe(expected), describe(actual));
+    }
+
+    static List<String> describe(GraphDescriptor graph) {
+        List<String> lines = new ArrayList<>();
+        for (GraphNode node = graph.getFirstNode(); node != null; node = node.getNextDataNode()) {
+            StringBuilder line = new StringBuilder();
+            line.append(node.getId()).append(' ').append(graph.labelOf(node)).append(':');
+            for (EdgeNode edge = node.getFirstEdge(); edge != null; edge = edge.getNextEdge()) {
+                line.append(' ').append(edge.getTargetNode().getId()).append('/').append(edge.getWeight());
+            }
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+}
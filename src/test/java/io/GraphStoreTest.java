@@ -0,0 +1,252 @@
+package io;
+
+import data_structures.GraphDescriptor;
+import operations.GraphOperations;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static io.GraphAssertions.assertSameGraph;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GraphStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopenRestoresSnapshotAndLog() throws IOException {
+        GraphDescriptor expected;
+        try (GraphStore store = GraphStore.open(directory.toString(), GraphOperations.createGraph(4))) {
+            store.addEdge(0, 1);
+            store.addEdge(1, 2, 3.5);
+            store.setEdgeWeight(1, 2, 0.25);
+            int added = store.addVertex("Новая", new int[]{0, 3});
+            store.addVertex(10, new int[]{added});
+            store.addEdge(3, 10);
+            store.removeEdge(0, 1);
+            store.relabelVertex(2, "Q");
+            store.deleteVertex(1);
+            expected = copyOf(store.getGraph());
+        }
+
+        try (GraphStore store = GraphStore.open(directory.toString(), null)) {
+            assertSameGraph(expected, store.getGraph());
+        }
+    }
+
+    @Test
+    void rejectedChangeIsNotLogged() throws IOException {
+        try (GraphStore store = GraphStore.open(directory.toString(), GraphOperations.createGraph(2))) {
+            store.addEdge(0, 1);
+            assertThrows(IllegalArgumentException.class, () -> store.addEdge(0, 1));
+            assertThrows(IllegalArgumentException.class, () -> store.removeEdge(1, 0));
+            assertThrows(IllegalArgumentException.class, () -> store.deleteVertex(5));
+        }
+
+        // Если бы неудачные изменения попали в журнал, его применение завершилось бы ошибкой
+        try (GraphStore store = GraphStore.open(directory.toString(), null)) {
+            assertEquals(1, store.getGraph().getEdgeCount());
+            assertTrue(GraphOperations.containsEdge(store.getGraph(), 0, 1));
+        }
+    }
+
+    @Test
+    void repeatedTargetsOfNewVertexGiveOneEdge() throws IOException {
+        try (GraphStore store = GraphStore.open(directory.toString(), GraphOperations.createGraph(2))) {
+            store.addVertex(2, new int[]{0, 0, 1, 0});
+            assertEquals(2, store.getGraph().getEdgeCount());
+        }
+
+        try (GraphStore store = GraphStore.open(directory.toString(), null)) {
+            assertEquals(2, store.getGraph().getEdgeCount());
+            assertTrue(GraphOperations.containsEdge(store.getGraph(), 2, 0));
+            assertTrue(GraphOperations.containsEdge(store.getGraph(), 2, 1));
+        }
+    }
+
+    @Test
+    void tornTailIsDiscarded() throws IOException {
+        try (GraphStore store = GraphStore.open(directory.toString(), GraphOperations.createGraph(3))) {
+            store.addEdge(0, 1);
+            store.addEdge(1, 2);
+            store.addEdge(2, 0);
+        }
+
+        // Последняя запись оборвана посередине, как при сбое во время записи
+        Path log = onlyFile("log-");
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        try (GraphStore store = GraphStore.open(directory.toString(), null)) {
+            GraphDescriptor graph = store.getGraph();
+            assertEquals(2, graph.getEdgeCount());
+            assertFalse(GraphOperations.containsEdge(graph, 2, 0));
+
+            // Новые записи идут после целой части журнала
+            store.addEdge(2, 0);
+        }
+
+        try (GraphStore store = GraphStore.open(directory.toString(), null)) {
+            assertEquals(3, store.getGraph().getEdgeCount());
+        }
+    }
+
+    @Test
+    void checkpointReplacesOlderGeneration() throws IOException {
+        GraphDescriptor expected;
+        try (GraphStore store = GraphStore.open(directory.toString(), GraphOperations.createGraph(3))) {
+            store.addEdge(0, 1);
+            store.checkpoint();
+            store.addEdge(1, 2);
+            expected = copyOf(store.getGraph());
+        }
+
+        assertEquals(List.of("log-2.wal", "snapshot-2.bin"), fileNames());
+        try (GraphStore store = GraphStore.open(directory.toString(), null)) {
+            assertSameGraph(expected, store.getGraph());
+        }
+    }
+
+    @Test
+    void concurrentWritersAreAllRecovered() throws Exception {
+        int threads = 8;
+        int edgesPerThread = 50;
+        int vertexCount = threads * edgesPerThread;
+        GraphDescriptor expected;
+
+        try (GraphStore store = GraphStore.open(directory.toString(), GraphOperations.createGraph(vertexCount))) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    int source = t;
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < edgesPerThread; i++) {
+                            store.addEdge(source, source * edgesPerThread + i);
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+            expected = copyOf(store.getGraph());
+        }
+
+        assertEquals(threads * edgesPerThread, expected.getEdgeCount());
+        try (GraphStore store = GraphStore.open(directory.toString(), null)) {
+            assertEquals(expected.getEdgeCount(), store.getGraph().getEdgeCount());
+            for (int t = 0; t < threads; t++) {
+                for (int i = 0; i < edgesPerThread; i++) {
+                    assertTrue(GraphOperations.containsEdge(store.getGraph(), t, t * edgesPerThread + i));
+                }
+            }
+        }
+    }
+
+    @Test
+    void tornWriteStopsTheLog() throws IOException {
+        AtomicReference<FailingChannel> channel = new AtomicReference<>();
+        GraphStore store = GraphStore.open(directory.toString(), GraphOperations.createGraph(3),
+                opened -> {
+                    channel.set(new FailingChannel(opened));
+                    return channel.get();
+                });
+        store.addEdge(0, 1);
+
+        // Запись обрывается посередине: изменение не подтверждается,
+        // и следующие изменения не попадают ни в журнал, ни в граф
+        channel.get().failWritesAfter(3);
+        assertThrows(IOException.class, () -> store.addEdge(1, 2));
+        assertThrows(IOException.class, () -> store.addEdge(2, 0));
+        assertFalse(GraphOperations.containsEdge(store.getGraph(), 2, 0));
+        assertThrows(IOException.class, store::close);
+
+        try (GraphStore reopened = GraphStore.open(directory.toString(), null)) {
+            GraphDescriptor graph = reopened.getGraph();
+            assertEquals(1, graph.getEdgeCount());
+            assertTrue(GraphOperations.containsEdge(graph, 0, 1));
+        }
+    }
+
+    @Test
+    void failedForceFailsEveryWaiter() throws Exception {
+        AtomicReference<FailingChannel> channel = new AtomicReference<>();
+        int threads = 4;
+        GraphStore store = GraphStore.open(directory.toString(), GraphOperations.createGraph(threads * 2),
+                opened -> {
+                    channel.set(new FailingChannel(opened));
+                    return channel.get();
+                });
+        channel.get().failForce();
+
+        // Ни один поток не должен получить подтверждение записи, которая не дошла до диска
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int source = t;
+                futures.add(executor.submit(() -> {
+                    store.addEdge(source, source + threads);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                ExecutionException error = assertThrows(ExecutionException.class, future::get);
+                assertTrue(error.getCause() instanceof IOException);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThrows(IOException.class, () -> store.addEdge(0, 1));
+        assertThrows(IOException.class, store::close);
+    }
+
+    // Снимок графа через двоичный формат, чтобы сравнение не зависело от его дальнейших изменений
+    private GraphDescriptor copyOf(GraphDescriptor graph) throws IOException {
+        Path file = directory.resolve("expected.bin");
+        try {
+            BinaryGraphFile.save(graph, file.toString());
+            return BinaryGraphFile.load(file.toString());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private Path onlyFile(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> matching = files.filter(file -> file.getFileName().toString().startsWith(prefix))
+                    .collect(Collectors.toList());
+            assertEquals(1, matching.size());
+            return matching.get(0);
+        }
+    }
+
+    private List<String> fileNames() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+    }
+}
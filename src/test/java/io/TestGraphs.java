@@ -0,0 +1,38 @@
+package io;
+
+import data_structures.GraphDescriptor;
+import operations.GraphOperations;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Общие графы и пул потоков для тестов всех пакетов.
+ */
+public final class TestGraphs {
+
+    // Один пул на все тесты параллельных алгоритмов; его потоки — демоны,
+    // поэтому пул не нужно останавливать
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    private TestGraphs() {
+    }
+
+    public static ForkJoinPool pool() {
+        return POOL;
+    }
+
+    // Случайный граф без кратных рёбер; петли допускаются, повторно выпавшие пары пропускаются
+    public static GraphDescriptor randomGraph(int vertexCount, int edgeCount, long seed) {
+        Random random = new Random(seed);
+        GraphDescriptor graph = GraphOperations.createGraph(vertexCount);
+        for (int i = 0; i < edgeCount; i++) {
+            int source = random.nextInt(vertexCount);
+            int target = random.nextInt(vertexCount);
+            if (!GraphOperations.containsEdge(graph, source, target)) {
+                GraphOperations.addEdge(graph, source, target);
+            }
+        }
+        return graph;
+    }
+}
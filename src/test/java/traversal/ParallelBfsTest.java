@@ -0,0 +1,57 @@
+package traversal;
+
+import data_structures.GraphDescriptor;
+import io.TestGraphs;
+import operations.GraphOperations;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class ParallelBfsTest {
+
+    @Test
+    void matchesSequentialBfsOnSparseGraph() {
+        GraphDescriptor graph = TestGraphs.randomGraph(5000, 7000, 1);
+
+        assertSameDistances(graph, 0, 17, 4999);
+    }
+
+    @Test
+    void matchesSequentialBfsOnDenseGraph() {
+        GraphDescriptor graph = TestGraphs.randomGraph(3000, 60_000, 2);
+
+        assertSameDistances(graph, 0, 1500);
+    }
+
+    @Test
+    void bottomUpStepsMatchSequentialBfs() {
+        // С обратным индексом большой фронт обрабатывается шагом bottom-up
+        GraphDescriptor graph = TestGraphs.randomGraph(3000, 60_000, 3);
+        GraphOperations.enableReverseIndex(graph);
+        for (int v = 1; v < 3000; v += 2) {
+            if (!GraphOperations.containsEdge(graph, 0, v)) {
+                GraphOperations.addEdge(graph, 0, v);
+            }
+        }
+
+        assertSameDistances(graph, 0, 2, 2999);
+    }
+
+    @Test
+    void skipsDeletedVertices() {
+        GraphDescriptor graph = TestGraphs.randomGraph(2000, 5000, 4);
+        for (int v = 10; v < 2000; v += 7) {
+            GraphOperations.deleteVertex(graph, v);
+        }
+
+        assertSameDistances(graph, 0, 1, 1999);
+    }
+
+    private static void assertSameDistances(GraphDescriptor graph, int... sources) {
+        ParallelBfs bfs = new ParallelBfs(TestGraphs.pool());
+        for (int source : sources) {
+            assertArrayEquals(GraphTraversal.bfs(graph, source), bfs.distances(graph, source),
+                    "источник " + source);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package traversal;
+
+import data_structures.GraphDescriptor;
+import io.TestGraphs;
+import operations.GraphOperations;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReachabilityIndexTest {
+
+    @Test
+    void closureMatchesBfsAfterChanges() {
+        GraphDescriptor graph = TestGraphs.randomGraph(200, 260, 1);
+        try (ReachabilityIndex index = new ReachabilityIndex(graph)) {
+            assertTrue(index.usesClosure());
+            assertAllPairsMatch(graph, index);
+
+            // Добавления применяются к замыканию на месте, удаления перестраивают его
+            Random random = new Random(1);
+            for (int i = 0; i < 40; i++) {
+                int source = random.nextInt(200);
+                int target = random.nextInt(200);
+                if (GraphOperations.containsEdge(graph, source, target)) {
+                    GraphOperations.removeEdge(graph, source, target);
+                } else {
+                    GraphOperations.addEdge(graph, source, target);
+                }
+            }
+            GraphOperations.addVertex(graph, 200, new int[]{0, 5});
+            GraphOperations.addEdge(graph, 7, 200);
+            GraphOperations.deleteVertex(graph, 3);
+            assertAllPairsMatch(graph, index);
+        }
+    }
+
+    @Test
+    void labelsMatchBfsOnLargeGraph() {
+        // Разреженный граф: почти все компоненты одиночные, их больше предела замыкания
+        GraphDescriptor graph = TestGraphs.randomGraph(20_000, 24_000, 2);
+        try (ReachabilityIndex index = new ReachabilityIndex(graph)) {
+            assertFalse(index.usesClosure());
+            assertSampledPairsMatch(graph, index, 2);
+
+            GraphOperations.addVertex(graph, 20_000, new int[]{1, 2});
+            GraphOperations.addEdge(graph, 0, 20_000);
+            assertSampledPairsMatch(graph, index, 3);
+        }
+    }
+
+    @Test
+    void breakingLargeCycleSwitchesToLabels() {
+        int vertexCount = 20_000;
+        GraphDescriptor graph = GraphOperations.createGraph(vertexCount);
+        for (int v = 0; v < vertexCount; v++) {
+            GraphOperations.addEdge(graph, v, (v + 1) % vertexCount);
+        }
+        try (ReachabilityIndex index = new ReachabilityIndex(graph)) {
+            assertTrue(index.usesClosure());
+            assertTrue(index.canReach(5, 3));
+
+            // Цикл распадается на 20 000 компонент — больше предела замыкания
+            GraphOperations.removeEdge(graph, vertexCount - 1, 0);
+
+            assertFalse(index.usesClosure());
+            assertFalse(index.canReach(5, 3));
+            assertTrue(index.canReach(3, 5));
+            assertSampledPairsMatch(graph, index, 4);
+
+            // Обратно в режим замыкания
+            GraphOperations.addEdge(graph, vertexCount - 1, 0);
+            assertTrue(index.usesClosure());
+            assertTrue(index.canReach(5, 3));
+        }
+    }
+
+    private static void assertAllPairsMatch(GraphDescriptor graph, ReachabilityIndex index) {
+        for (int source = 0; source < graph.getIdBound(); source++) {
+            if (!graph.containsVertex(source)) {
+                continue;
+            }
+            for (int target = 0; target < graph.getIdBound(); target++) {
+                if (graph.containsVertex(target)) {
+                    assertEquals(GraphTraversal.isReachable(graph, source, target), index.canReach(source, target),
+                            source + " -> " + target);
+                }
+            }
+        }
+    }
+
+    private static void assertSampledPairsMatch(GraphDescriptor graph, ReachabilityIndex index, long seed) {
+        Random random = new Random(seed);
+        for (int i = 0; i < 500; i++) {
+            int source = random.nextInt(graph.getIdBound());
+            int target = random.nextInt(graph.getIdBound());
+            assertEquals(GraphTraversal.isReachable(graph, source, target), index.canReach(source, target),
+                    source + " -> " + target);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package traversal;
+
+import data_structures.GraphDescriptor;
+import io.TestGraphs;
+import operations.GraphOperations;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StronglyConnectedComponentsTest {
+
+    @Test
+    void smallGraphMatchesTarjan() {
+        GraphDescriptor graph = GraphOperations.buildGraphFromMatrix(new int[][]{
+                {0, 1, 0, 0, 0},
+                {0, 0, 1, 0, 0},
+                {1, 0, 0, 1, 0},
+                {0, 0, 0, 0, 1},
+                {0, 0, 0, 1, 0}
+        });
+
+        Components components = StronglyConnectedComponents.parallel(graph, TestGraphs.pool());
+
+        assertEquals(2, components.getComponentCount());
+        assertSamePartition(StronglyConnectedComponents.tarjan(graph), components);
+    }
+
+    @Test
+    void randomGraphsMatchTarjan() {
+        // Графы больше порога последовательной обработки, с одной крупной
+        // компонентой и множеством мелких
+        for (long seed = 1; seed <= 3; seed++) {
+            GraphDescriptor graph = TestGraphs.randomGraph(20_000, 24_000, seed);
+            assertSamePartition(StronglyConnectedComponents.tarjan(graph),
+                    StronglyConnectedComponents.parallel(graph, TestGraphs.pool()));
+        }
+    }
+
+    @Test
+    void chainOfTwoCyclesMatchesTarjan() {
+        // Цепочка из 100 000 компонент по две вершины: при разбиении по одной
+        // компоненте рекурсия вглубь переполняла стек
+        int vertexCount = 200_000;
+        GraphDescriptor graph = GraphOperations.createGraph(vertexCount);
+        for (int v = 0; v < vertexCount; v += 2) {
+            GraphOperations.addEdge(graph, v, v + 1);
+            GraphOperations.addEdge(graph, v + 1, v);
+            if (v + 2 < vertexCount) {
+                GraphOperations.addEdge(graph, v, v + 2);
+            }
+        }
+
+        Components components = StronglyConnectedComponents.parallel(graph, TestGraphs.pool());
+
+        assertEquals(vertexCount / 2, components.getComponentCount());
+        assertSamePartition(StronglyConnectedComponents.tarjan(graph), components);
+    }
+
+    @Test
+    void deletedVerticesHaveNoComponent() {
+        GraphDescriptor graph = TestGraphs.randomGraph(10_000, 15_000, 7);
+        for (int v = 3; v < 10_000; v += 5) {
+            GraphOperations.deleteVertex(graph, v);
+        }
+
+        Components components = StronglyConnectedComponents.parallel(graph, TestGraphs.pool());
+
+        assertEquals(-1, components.componentOf(3));
+        assertSamePartition(StronglyConnectedComponents.tarjan(graph), components);
+    }
+
+    // Номера компонент у алгоритмов разные, поэтому сравниваются разбиения:
+    // каждой вершине сопоставляется наименьший id её компоненты
+    private static void assertSamePartition(Components expected, Components actual) {
+        assertEquals(expected.getComponentCount(), actual.getComponentCount());
+        assertArrayEquals(representatives(expected), representatives(actual));
+    }
+
+    private static int[] representatives(Components components) {
+        int[] componentOf = components.getComponentOf();
+        int[] smallest = new int[components.getComponentCount()];
+        Arrays.fill(smallest, Integer.MAX_VALUE);
+        for (int v = 0; v < componentOf.length; v++) {
+            if (componentOf[v] >= 0) {
+                smallest[componentOf[v]] = Math.min(smallest[componentOf[v]], v);
+            }
+        }
+
+        int[] result = new int[componentOf.length];
+        for (int v = 0; v < componentOf.length; v++) {
+            result[v] = componentOf[v] >= 0 ? smallest[componentOf[v]] : -1;
+        }
+        return result;
+    }
+}